@@ -40,7 +40,7 @@ public class AuthController {
             }
 
             User user = userOpt.get();
-            String token = jwtUtil.generateToken(req.email());
+            String token = jwtUtil.generateToken(user.getEmail(), user.getId());
 
             // Retorna token + dados do usuário (como esperado pelo Angular)
             Map<String, Object> response = Map.of(
@@ -1,16 +1,31 @@
 package bessa.morangon.rafael.TaskFlow.controller;
 
+import bessa.morangon.rafael.TaskFlow.domain.dto.CursorPage;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkRequest;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskChangesDTO;
 import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskFilter;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperation;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperationResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskStatsDTO;
 import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.service.TaskMergePatch;
 import bessa.morangon.rafael.TaskFlow.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.security.Principal;
@@ -26,28 +41,118 @@ public class TaskController {
 
     // Passa Principal para verificar propriedade da task
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id, Principal principal) {
+    // If-None-Match com a ETag atual -> 304 sem corpo
+    public ResponseEntity<TaskDTO> getTaskById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Principal principal) {
         log.info("GET /tasks/{} - Usuário: {}", id, principal.getName());
-        return taskService.getTaskById(id, principal);
+        return taskService.getTaskById(id, ifNoneMatch, principal);
     }
 
     // Com paginação (para uso futuro)
     @GetMapping("/paged")
     public ResponseEntity<Page<TaskDTO>> getAllTasksPaged(
             @PageableDefault(size = 8, sort = {"createdAt"}) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Principal principal) {
 
         log.info("GET /tasks/paged - Usuário: {} - Página: {}, Tamanho: {}",
                 principal.getName(), pageable.getPageNumber(), pageable.getPageSize());
 
-        return taskService.getAllTasks(pageable, principal);
+        return taskService.getAllTasks(pageable, ifNoneMatch, principal);
+    }
+
+    // Paginação por cursor: sem OFFSET e sem COUNT, estável mesmo com inserções concorrentes.
+    // Para a próxima página, enviar o nextCursor recebido na resposta anterior.
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<TaskDTO>> getAllTasksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Principal principal) {
+
+        log.info("GET /tasks/cursor - Usuário: {} - Tamanho: {}", principal.getName(), size);
+        return taskService.getTasksByCursor(cursor, size, principal);
+    }
+
+    // Busca paginada no servidor: filtros opcionais (status, priority, dueFrom, dueTo, q) + sort.
+    // Ex: /tasks/search?status=PENDING&q=relatorio&sort=dueDate,asc
+    @GetMapping("/search")
+    public ResponseEntity<Page<TaskDTO>> searchTasks(
+            TaskFilter filter,
+            @PageableDefault(size = 20, sort = {"createdAt"}, direction = Sort.Direction.DESC) Pageable pageable,
+            Principal principal) {
+
+        log.info("GET /tasks/search - Usuário: {} - Filtro: {} - Página: {}",
+                principal.getName(), filter, pageable.getPageNumber());
+
+        return taskService.searchTasks(filter, pageable, principal);
+    }
+
+    // Busca textual rápida (índice em memória): ids das tasks do usuário em ordem de relevância
+    @GetMapping("/search/ids")
+    public ResponseEntity<List<Long>> searchTaskIds(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal) {
+
+        log.info("GET /tasks/search/ids - Usuário: {} - Termo: {}", principal.getName(), q);
+        return taskService.searchTaskIds(q, limit, principal);
+    }
+
+    // Contagens por status/prioridade, atrasadas e vencendo hoje (para o dashboard)
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> getTaskStats(Principal principal) {
+        log.info("GET /tasks/stats - Usuário: {}", principal.getName());
+        return taskService.getTaskStats(principal);
+    }
+
+    // Sincronização incremental: enviar o cursor da resposta anterior em "since"
+    // (sem "since" vem a lista completa e o primeiro cursor)
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> getTaskChanges(
+            @RequestParam(required = false) String since,
+            Principal principal) {
+
+        log.info("GET /tasks/changes - Usuário: {}", principal.getName());
+        return taskService.getChanges(since, principal);
     }
 
-    // Sem paginação (para o Angular atual)
+    // Stream SSE das alterações (eventos created/updated/deleted e "resync" quando o cliente
+    // ficou para trás e precisa chamar /tasks/changes)
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTaskChanges(Principal principal) {
+        log.info("GET /tasks/stream - Usuário: {}", principal.getName());
+        return taskService.streamTaskChanges(principal);
+    }
+
+    // Exportação para relatórios: ?format=csv|ndjson, &gzip=true para baixar comprimido
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Principal principal) {
+
+        log.info("GET /tasks/export - Usuário: {} - Formato: {} - Gzip: {}", principal.getName(), format, gzip);
+        return taskService.exportTasks(format, gzip, principal);
+    }
+
+    // Sem paginação (para o Angular atual); o corpo é o array de TaskDTO já serializado
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks(Principal principal) {
+    public ResponseEntity<byte[]> getAllTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Principal principal) {
         log.info("GET /tasks - Usuário: {}", principal.getName());
-        return taskService.getAllTasksWithoutPagination(principal);
+        return taskService.getAllTasksWithoutPagination(ifNoneMatch, principal);
+    }
+
+    // Mesmo resultado do GET /tasks, escrito em streaming (para contas com muitas tasks)
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Principal principal) {
+        log.info("GET /tasks?stream=true - Usuário: {}", principal.getName());
+        return taskService.streamAllTasks(ifNoneMatch, principal);
     }
 
     @PostMapping
@@ -60,6 +165,22 @@ public class TaskController {
         return taskService.createNewTask(task, uriComponentsBuilder, principal);
     }
 
+    // Criação em lote: array de tasks, validadas antes de qualquer insert; retorna os ids em ordem
+    @PostMapping("/batch")
+    public ResponseEntity<List<Long>> createTasks(@RequestBody List<Task> tasks, Principal principal) {
+        log.info("POST /tasks/batch - Usuário: {} - Quantidade: {}", principal.getName(), tasks.size());
+        return taskService.createTasks(tasks, principal);
+    }
+
+    // Lote de operações (create/update/delete) de clientes offline, aplicado numa única transação;
+    // retorna o resultado de cada operação, com os tempIds mapeados para os ids reais
+    @PostMapping("/ops")
+    public ResponseEntity<List<TaskOperationResultDTO>> applyOperations(@RequestBody List<TaskOperation> operations,
+                                                                        Principal principal) {
+        log.info("POST /tasks/ops - Usuário: {} - Operações: {}", principal.getName(), operations.size());
+        return taskService.applyOperations(operations, principal);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> updateTask(
             @RequestBody @Valid Task task,
@@ -70,6 +191,27 @@ public class TaskController {
         return taskService.updateTask(task, id, principal);
     }
 
+    // Atualização parcial (JSON Merge Patch): só os campos enviados, ex. {"status": "DONE"}
+    @PatchMapping(value = "/{id}", consumes = {TaskMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TaskDTO> patchTask(@PathVariable Long id, @RequestBody JsonNode patch, Principal principal) {
+        log.info("PATCH /tasks/{} - Usuário: {}", id, principal.getName());
+        return taskService.patchTask(id, patch, principal);
+    }
+
+    // Status/prioridade de várias tasks (por ids ou filtro) num único UPDATE; retorna quantas mudaram
+    @PatchMapping("/bulk")
+    public ResponseEntity<TaskBulkResultDTO> bulkUpdateTasks(@RequestBody TaskBulkRequest request, Principal principal) {
+        log.info("PATCH /tasks/bulk - Usuário: {}", principal.getName());
+        return taskService.bulkUpdateTasks(request, principal);
+    }
+
+    // Remoção de várias tasks (por ids ou filtro); retorna quantas foram removidas
+    @DeleteMapping("/bulk")
+    public ResponseEntity<TaskBulkResultDTO> bulkDeleteTasks(@RequestBody TaskBulkRequest request, Principal principal) {
+        log.info("DELETE /tasks/bulk - Usuário: {}", principal.getName());
+        return taskService.bulkDeleteTasks(request, principal);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id, Principal principal) {
         log.info("DELETE /tasks/{} - Usuário: {}", id, principal.getName());
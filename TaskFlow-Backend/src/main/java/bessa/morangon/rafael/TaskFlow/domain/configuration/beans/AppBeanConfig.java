@@ -4,16 +4,20 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
 
 @Configuration
+@EnableScheduling
 public class AppBeanConfig {
 
+    // Relógio injetável (testes podem fixar o "agora")
     @Bean
-    public ModelMapper getInstance() {
-        return new ModelMapper();
+    public Clock clock() {
+        return Clock.systemDefaultZone();
     }
 
     @Bean
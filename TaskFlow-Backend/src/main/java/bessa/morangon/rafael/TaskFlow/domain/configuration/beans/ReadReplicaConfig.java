@@ -0,0 +1,110 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.beans;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.beans.ReplicaRoutingDataSource.Target;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * DataSource com conexão física só no primeiro comando SQL (LazyConnectionDataSourceProxy), e réplica
+ * de leitura opcional.
+ *
+ * O JpaTransactionManager pega a conexão já no início de uma transação readOnly. Com o proxy, uma
+ * transação que termina sem SQL (304, cache de segundo nível, TaskListCache, espera no
+ * TaskReadCoalescer) não ocupa o pool, e a escolha entre primário e réplica é feita depois que a
+ * transação já está marcada como readOnly.
+ *
+ * Réplica: só com spring.datasource.replica.url definida. Dois pools Hikari (spring.datasource.hikari
+ * e spring.datasource.replica.hikari) atrás de um ReplicaRoutingDataSource; sem ela, o DataSource
+ * único configurado pelo Spring Boot.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReadReplicaConfig {
+
+    // Sem réplica: envolve o DataSource do Spring Boot (com réplica o bean "dataSource" já é o proxy)
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName)
+                        && bean instanceof DataSource dataSource
+                        && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new LazyConnectionDataSourceProxy(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "spring.datasource.replica.url")
+    static class ReplicaConfig {
+
+        @Bean
+        @Primary
+        @ConfigurationProperties("spring.datasource")
+        public DataSourceProperties primaryDataSourceProperties() {
+            return new DataSourceProperties();
+        }
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties primaryDataSourceProperties) {
+            HikariDataSource dataSource = primaryDataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            dataSource.setPoolName("primary");
+            return dataSource;
+        }
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.replica")
+        public DataSourceProperties replicaDataSourceProperties() {
+            return new DataSourceProperties();
+        }
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.replica.hikari")
+        public HikariDataSource replicaDataSource(
+                @Qualifier("replicaDataSourceProperties") DataSourceProperties replicaDataSourceProperties) {
+            HikariDataSource dataSource = replicaDataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            dataSource.setPoolName("replica");
+            return dataSource;
+        }
+
+        // DataSource usado pelo JPA e pelo Flyway
+        @Bean
+        @Primary
+        public DataSource dataSource(
+                @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                MeterRegistry meterRegistry,
+                @Value("${read-replica.sticky-window:5s}") Duration stickyWindow,
+                @Value("${read-replica.max-tracked-users:10000}") long maxTrackedUsers) {
+
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(meterRegistry, stickyWindow, maxTrackedUsers);
+            routing.setTargetDataSources(Map.of(
+                    Target.PRIMARY, primaryDataSource,
+                    Target.REPLICA, replicaDataSource));
+            routing.setDefaultTargetDataSource(primaryDataSource);
+            routing.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+    }
+}
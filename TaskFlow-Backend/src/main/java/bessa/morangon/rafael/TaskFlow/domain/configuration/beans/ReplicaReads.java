@@ -0,0 +1,47 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.beans;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Marca a transação atual como "leu da réplica" (ReplicaRoutingDataSource).
+ *
+ * A réplica pode estar atrasada, então nada lido dela pode ser guardado: a Session da transação
+ * passa a só consultar o cache de segundo nível (CacheMode.GET), e quem guarda resultados por
+ * conta própria (TaskListCache) ou devolve ETag (TaskService) consulta {@link #inCurrentTransaction()}.
+ */
+public final class ReplicaReads {
+
+    private static final Object RESOURCE_KEY = ReplicaReads.class;
+
+    private ReplicaReads() {
+    }
+
+    // Alguma leitura da transação atual já veio da réplica
+    public static boolean inCurrentTransaction() {
+        return TransactionSynchronizationManager.hasResource(RESOURCE_KEY);
+    }
+
+    static void markCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || inCurrentTransaction()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+            }
+        });
+
+        // Chamado ao obter a conexão, antes da query: o que ela carregar não entra no cache de segundo nível
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+}
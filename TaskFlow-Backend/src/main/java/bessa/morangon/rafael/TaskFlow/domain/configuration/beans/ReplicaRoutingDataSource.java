@@ -0,0 +1,98 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.beans;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Escolhe entre primário e réplica a cada conexão física obtida.
+ *
+ * Vão para a réplica só as transações readOnly abertas por um método do pacote service, hoje:
+ * TaskService.getTaskById, getAllTasks e getAllTasksWithoutPagination, e UserService.getById e
+ * getAllUsers. Todo o resto vai para o primário: escritas, o que roda sem transação (Flyway,
+ * CacheInvalidationLog) e as transações readOnly que o próprio Spring Data abre quando um repository
+ * é chamado fora de transação (findAll da busca, existsById da checagem de dono) ou por um
+ * TransactionTemplate (TaskStreamingWriter).
+ *
+ * Depois do commit de uma transação de escrita, as leituras do mesmo usuário autenticado também vão
+ * para o primário durante sticky-window: ele vê o que acabou de gravar mesmo que a réplica ainda não
+ * tenha recebido. Passada a janela a réplica ainda pode estar atrasada, então o que vem dela não é
+ * guardado em cache (ReplicaReads).
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final String SERVICE_PACKAGE = "bessa.morangon.rafael.TaskFlow.service.";
+
+    // Usuários com escrita recente; a entrada expira junto com a janela
+    private final Cache<Long, Boolean> recentWriters;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+
+    ReplicaRoutingDataSource(MeterRegistry meterRegistry, Duration stickyWindow, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(stickyWindow)
+                .build();
+        this.replicaReads = Counter.builder("datasource.routing.reads")
+                .tag("target", "replica")
+                .description("Transações readOnly atendidas pela réplica")
+                .register(meterRegistry);
+        this.stickyReads = Counter.builder("datasource.routing.reads")
+                .tag("target", "primary")
+                .description("Transações readOnly mandadas ao primário por escrita recente do usuário")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(userId, Boolean.TRUE);
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+
+        if (!isServiceTransaction()) {
+            return Target.PRIMARY;
+        }
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            stickyReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        ReplicaReads.markCurrentTransaction();
+        return Target.REPLICA;
+    }
+
+    // Nome da transação de um @Transactional: classe.método de quem a abriu
+    private static boolean isServiceTransaction() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(SERVICE_PACKAGE);
+    }
+
+    private static Long currentUserId() {
+        return AuthenticatedUser.from(SecurityContextHolder.getContext().getAuthentication())
+                .map(AuthenticatedUser::getId)
+                .orElse(null);
+    }
+}
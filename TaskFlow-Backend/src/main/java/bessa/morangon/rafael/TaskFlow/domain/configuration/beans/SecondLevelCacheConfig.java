@@ -0,0 +1,80 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.beans;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível do Hibernate para Task e User (e para a busca de User por e-mail),
+ * local a cada instância: JCache com o Caffeine como provedor.
+ *
+ * As regiões são criadas aqui, com tamanho máximo e TTL explícitos; uma região que falte faz o
+ * Hibernate falhar na inicialização (missing_cache_strategy=fail) em vez de criar uma sem limite.
+ * O TTL limita por quanto tempo uma alteração feita fora desta instância pode passar despercebida.
+ * Acertos/erros de cada região em /actuator/metrics/cache.gets?tag=cache:tasks.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String TASKS_REGION = "tasks";
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+
+    // URI próprio por contexto: contextos de teste diferentes não compartilham (nem fecham) o mesmo gerenciador
+    @Bean
+    public CacheManager secondLevelCacheManager(
+            MeterRegistry meterRegistry,
+            @Value("${l2-cache.tasks.max-size:10000}") long tasksMaxSize,
+            @Value("${l2-cache.tasks.ttl:10m}") Duration tasksTtl,
+            @Value("${l2-cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${l2-cache.users.ttl:30m}") Duration usersTtl) {
+
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("taskflow-l2-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+
+        createRegion(cacheManager, meterRegistry, TASKS_REGION, tasksMaxSize, tasksTtl);
+        createRegion(cacheManager, meterRegistry, USERS_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, meterRegistry, USERS_BY_EMAIL_REGION, usersMaxSize, usersTtl);
+        return cacheManager;
+    }
+
+    // Sem cache de queries: as listagens já têm os próprios caches (versão/ETag, índice de busca)
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry,
+                                     String region, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                // Hibernate já guarda um estado desmontado e imutável: sem cópia a cada get/put
+                .setStoreByValue(false)
+                .setStatisticsEnabled(true);
+
+        Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
@@ -17,9 +17,11 @@ import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 
+import java.net.SocketTimeoutException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -166,6 +168,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    // 6.1 REQUISIÇÃO INVÁLIDA - Parâmetros fora do formato/limite esperado
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(
+            InvalidRequestException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                request.getRequestURI()
+        );
+
+        log.warn("Invalid request on {}: {}", request.getRequestURI(), ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     // 7. SPRING SECURITY - Acesso negado
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDenied(
@@ -220,6 +240,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    // 9.1 STREAMING - Cliente de SSE/export foi embora ou parou de ler até estourar o prazo de escrita
+    // do Tomcat (SocketTimeoutException); não há resposta para escrever
+    @ExceptionHandler({AsyncRequestNotUsableException.class, SocketTimeoutException.class})
+    public void handleClientGone(
+            Exception ex,
+            HttpServletRequest request) {
+
+        log.debug("Client gone on {}: {}", request.getRequestURI(), ex.getMessage());
+    }
+
     // 10. RUNTIME EXCEPTION GENÉRICA
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(
@@ -0,0 +1,7 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions;
+
+public class InvalidRequestException extends RuntimeException{
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
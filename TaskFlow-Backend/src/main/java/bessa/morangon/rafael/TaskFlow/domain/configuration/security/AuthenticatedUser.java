@@ -0,0 +1,40 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.security;
+
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Principal instalado pelo JwtAuthFilter. Além do email (username),
+ * carrega o id do usuário para que os services filtrem por dono
+ * sem precisar resolver email -> usuário no banco.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String email, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+
+    public AuthenticatedUser copy() {
+        return new AuthenticatedUser(id, getUsername(), getPassword(), getAuthorities());
+    }
+
+    // Extrai o AuthenticatedUser do Principal recebido pelos controllers, se houver
+    public static Optional<AuthenticatedUser> from(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+}
@@ -18,29 +18,39 @@ import java.io.IOException;
 @AllArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final JwtTokenCache jwtTokenCache;
     private final UserDetailsService userDetailsService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        JwtTokenCache.VerifiedToken verified = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                username = jwtUtil.extractUsername(token);
-            }
+            String token = authHeader.substring(7);
+            // Token verificado uma única vez; as próximas requisições com o mesmo token são um lookup no cache
+            verified = jwtTokenCache.verify(token).orElse(null);
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails ud = userDetailsService.loadUserByUsername(username);
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails ud = userDetailsService.loadUserByUsername(verified.subject());
+
+            // O principal instalado é o AuthenticatedUser, que expõe o id do usuário para os services
+            if (matchesTokenUser(ud, verified)) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Token emitido para um usuário removido cujo email foi reutilizado por outra conta não autentica
+    private boolean matchesTokenUser(UserDetails ud, JwtTokenCache.VerifiedToken verified) {
+        if (verified.userId() == null || !(ud instanceof AuthenticatedUser user)) {
+            return true;
+        }
+        return verified.userId().equals(user.getId());
+    }
 }
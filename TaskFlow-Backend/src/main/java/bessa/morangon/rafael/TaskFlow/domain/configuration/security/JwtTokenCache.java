@@ -0,0 +1,97 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Cache de tokens JWT já verificados.
+ *
+ * A chave é o SHA-256 do token (o token em si nunca fica guardado) e cada
+ * entrada expira exatamente no "exp" do token, então um token expirado nunca
+ * é servido pelo cache. Tokens inválidos não são cacheados.
+ *
+ * Hits/misses ficam disponíveis em /actuator/metrics/cache.gets?tag=cache:jwt.tokens
+ */
+@Component
+public class JwtTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtTokenCache(JwtUtil jwtUtil,
+                         MeterRegistry meterRegistry,
+                         @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String digest, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.tokens");
+    }
+
+    /**
+     * Retorna os dados do token se a assinatura e a expiração forem válidas.
+     * Só faz o parse (e a verificação HMAC) na primeira vez que o token é visto.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String digest = digest(token);
+
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            if (claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verified = new VerifiedToken(
+                    claims.getSubject(),
+                    jwtUtil.extractUserId(claims),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        cache.put(digest, verified);
+        return Optional.of(verified);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public record VerifiedToken(String subject, Long userId, Instant expiresAt) {}
+}
@@ -1,6 +1,7 @@
 package bessa.morangon.rafael.TaskFlow.domain.configuration.security;
 
-import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,42 +14,43 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
+    // Claim com o id numérico do usuário (evita resolver email -> usuário por requisição)
+    public static final String USER_ID_CLAIM = "uid";
+
     private final Key key;
     private final long expiration;
 
+    // O parser é imutável e thread-safe: construído uma única vez e reutilizado
+    private final JwtParser parser;
+
     public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") long expiration) {
 
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expiration = expiration;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
-    public String generateToken(String subject) {
+    public String generateToken(String subject, Long userId) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expiration);
         return Jwts.builder()
                 .setSubject(subject)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(now)
                 .setExpiration(exp)
                 .signWith(key)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    // Valida assinatura e expiração em um único parse; lança JwtException se o token for inválido
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException ex) {
-            return false;
-        }
+    // Tokens emitidos antes do claim "uid" existir retornam null
+    public Long extractUserId(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
     }
 
 }
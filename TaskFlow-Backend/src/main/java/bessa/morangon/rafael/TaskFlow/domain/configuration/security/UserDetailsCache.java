@@ -0,0 +1,68 @@
+package bessa.morangon.rafael.TaskFlow.domain.configuration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache de UserDetails (AuthenticatedUser) por email, limitado por tamanho e TTL.
+ *
+ * Tira o SELECT em users do caminho de autenticação de cada requisição.
+ * Alterações feitas pelo UserService chamam {@link #invalidate(String)};
+ * o TTL limita o tempo de vida de alterações feitas fora da aplicação.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${user-details.cache.max-size:10000}") long maxSize,
+                            @Value("${user-details.cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.details");
+    }
+
+    /**
+     * Busca no cache ou carrega com o loader. Sempre devolve uma cópia:
+     * o AuthenticationManager apaga a senha do UserDetails após o login
+     * (eraseCredentials) e isso não pode atingir a instância cacheada.
+     */
+    public AuthenticatedUser get(String email, Function<String, AuthenticatedUser> loader) {
+        return cache.get(email, loader).copy();
+    }
+
+    /**
+     * Remove o usuário do cache imediatamente e, se houver transação ativa,
+     * de novo após o término dela, para que uma leitura concorrente não
+     * recoloque no cache o estado anterior ao commit.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+}
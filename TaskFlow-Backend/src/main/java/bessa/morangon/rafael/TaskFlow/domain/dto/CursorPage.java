@@ -0,0 +1,21 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Página de paginação por cursor (keyset): não tem total nem número de página
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    // Cursor opaco para buscar a próxima página; null quando não há mais itens
+    private String nextCursor;
+
+    private boolean hasNext;
+}
@@ -0,0 +1,26 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Corpo de PATCH /tasks/bulk e DELETE /tasks/bulk: as tasks são escolhidas por "ids" OU por "filter"
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkRequest {
+
+    // Ids das tasks; ids de outros usuários são ignorados
+    private List<Long> ids;
+
+    // Mesmos filtros do GET /tasks/search ({} seleciona todas as tasks do usuário)
+    private TaskFilter filter;
+
+    // Novos valores (somente no PATCH); campos nulos não são alterados
+    private Status status;
+    private Priority priority;
+}
@@ -0,0 +1,14 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resposta das operações em lote: quantas tasks foram alteradas/removidas
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkResultDTO {
+
+    private int affected;
+}
@@ -0,0 +1,26 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Resposta do GET /tasks/changes: o que mudou desde o cursor enviado pelo cliente
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesDTO {
+
+    // Tasks criadas ou alteradas (o cliente substitui pelo id)
+    private List<TaskDTO> upserted;
+
+    // Ids das tasks removidas
+    private List<Long> deleted;
+
+    // Cursor para a próxima sincronização
+    private String cursor;
+
+    // true quando "upserted" é a lista completa: o cliente descarta a cópia local
+    private boolean reset;
+}
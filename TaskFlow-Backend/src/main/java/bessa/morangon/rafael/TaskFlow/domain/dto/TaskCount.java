@@ -0,0 +1,8 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+
+// Uma linha do GROUP BY status, prioridade das estatísticas
+public record TaskCount(Status status, Priority priority, Long count) {
+}
@@ -2,13 +2,14 @@ package bessa.morangon.rafael.TaskFlow.domain.dto;
 
 import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
 import bessa.morangon.rafael.TaskFlow.domain.model.Status;
-import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+// Modelo de leitura da task: só colunas da própria tabela + id do dono (sem a entidade User).
+// O construtor completo é usado nas projeções JPQL do TaskRepository ("SELECT new ...").
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,5 +21,5 @@ public class TaskDTO {
     private LocalDateTime dueDate;
     private Priority priority;
     private Status status;
-    private User user;
+    private Long userId;
 }
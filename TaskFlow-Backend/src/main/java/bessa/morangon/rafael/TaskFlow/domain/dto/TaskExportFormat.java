@@ -0,0 +1,39 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+// Formatos aceitos em GET /tasks/export?format=...
+public enum TaskExportFormat {
+
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    TaskExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // Sem diferenciar maiúsculas; formato desconhecido vira 400
+    public static TaskExportFormat from(String value) {
+        for (TaskExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new InvalidRequestException("format must be one of: csv, ndjson");
+    }
+}
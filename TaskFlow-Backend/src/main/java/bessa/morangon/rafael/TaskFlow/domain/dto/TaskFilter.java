@@ -0,0 +1,30 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Filtros opcionais de GET /tasks/search (query string); campos nulos não filtram
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+
+    private Status status;
+    private Priority priority;
+
+    // Intervalo de vencimento, inclusivo nas duas pontas (ex: 2025-01-31T23:59:59)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    // Texto livre procurado no título e na descrição (sem diferenciar maiúsculas)
+    private String q;
+}
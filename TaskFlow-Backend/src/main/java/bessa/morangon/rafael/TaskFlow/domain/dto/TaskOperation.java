@@ -0,0 +1,37 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Uma operação do lote de POST /tasks/ops (aplicadas em ordem, numa única transação)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    @NotNull(message = "Operation is required")
+    private Type op;
+
+    // CREATE: id temporário dado pelo cliente; operações seguintes do lote o usam em "ref"
+    private String tempId;
+
+    // UPDATE/DELETE: task já existente...
+    private Long id;
+
+    // ...ou task criada antes neste mesmo lote (tempId)
+    private String ref;
+
+    // CREATE/UPDATE: dados da task (UPDATE substitui todos os campos, como o PUT)
+    @Valid
+    private Task task;
+}
@@ -0,0 +1,23 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de cada operação de POST /tasks/ops, na mesma ordem do pedido
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperationResultDTO {
+
+    private TaskOperation.Type op;
+
+    // tempId (CREATE) ou ref (UPDATE/DELETE) enviado pelo cliente, para ele mapear para o id real
+    private String tempId;
+
+    // Id real da task
+    private Long id;
+
+    // Task como ficou gravada; null em DELETE
+    private TaskDTO task;
+}
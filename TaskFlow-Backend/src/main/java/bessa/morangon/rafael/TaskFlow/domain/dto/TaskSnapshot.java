@@ -0,0 +1,24 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+
+import java.time.LocalDateTime;
+
+// Só os campos usados nas estatísticas; é o estado anterior que o TaskChangedEvent leva numa alteração/remoção
+public record TaskSnapshot(Long id, Status status, Priority priority, LocalDateTime dueDate) {
+
+    public static TaskSnapshot of(TaskDTO task) {
+        return new TaskSnapshot(task.getId(), task.getStatus(), task.getPriority(), task.getDueDate());
+    }
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getId(), task.getStatus(), task.getPriority(), task.getDueDate());
+    }
+
+    // Tarefa ainda em aberto (status nulo é tratado como pendente)
+    public boolean isOpen() {
+        return status != Status.DONE;
+    }
+}
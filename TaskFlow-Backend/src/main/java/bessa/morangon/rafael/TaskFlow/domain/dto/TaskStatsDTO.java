@@ -0,0 +1,27 @@
+package bessa.morangon.rafael.TaskFlow.domain.dto;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsDTO {
+
+    private long total;
+
+    // Todos os valores do enum aparecem, com 0 quando não há tasks
+    private Map<Status, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+
+    // Em aberto com vencimento já passado
+    private long overdue;
+
+    // Em aberto vencendo ainda hoje (de agora até o fim do dia); não inclui as atrasadas
+    private long dueToday;
+}
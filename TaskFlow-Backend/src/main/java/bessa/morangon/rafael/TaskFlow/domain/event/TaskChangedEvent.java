@@ -0,0 +1,40 @@
+package bessa.morangon.rafael.TaskFlow.domain.event;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+
+/**
+ * Publicado pelo TaskService a cada alteração de task.
+ *
+ * Os listeners usam @TransactionalEventListener(AFTER_COMMIT), então só
+ * recebem alterações efetivamente gravadas. Em UPDATED e DELETED o {@code previous}
+ * traz o estado da task antes da alteração (para quem mantém contadores); em CREATED
+ * ele é null, e em DELETED o {@code task} é null.
+ * Em BULK (operações em lote) várias tasks mudaram de uma vez: {@code taskId},
+ * {@code previous} e {@code task} são null e os listeners descartam o que mantêm do usuário.
+ */
+public record TaskChangedEvent(Long userId, Type type, Long taskId, TaskSnapshot previous, TaskDTO task) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BULK
+    }
+
+    public static TaskChangedEvent created(Long userId, TaskDTO task) {
+        return new TaskChangedEvent(userId, Type.CREATED, task.getId(), null, task);
+    }
+
+    public static TaskChangedEvent updated(Long userId, TaskSnapshot previous, TaskDTO task) {
+        return new TaskChangedEvent(userId, Type.UPDATED, task.getId(), previous, task);
+    }
+
+    public static TaskChangedEvent deleted(Long userId, TaskSnapshot previous) {
+        return new TaskChangedEvent(userId, Type.DELETED, previous.id(), previous, null);
+    }
+
+    public static TaskChangedEvent bulk(Long userId) {
+        return new TaskChangedEvent(userId, Type.BULK, null, null, null);
+    }
+}
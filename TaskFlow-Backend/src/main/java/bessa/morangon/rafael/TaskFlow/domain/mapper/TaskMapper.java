@@ -0,0 +1,37 @@
+package bessa.morangon.rafael.TaskFlow.domain.mapper;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Conversão Task -> TaskDTO escrita à mão: só getters e um construtor,
+// sem reflexão nem introspecção por chamada (ver MapperBenchmark nos testes)
+@Component
+public class TaskMapper {
+
+    public TaskDTO toDto(Task task) {
+        if (task == null) {
+            return null;
+        }
+        return new TaskDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getDueDate(),
+                task.getPriority(),
+                task.getStatus(),
+                // getId() do proxy LAZY não vai ao banco
+                task.getUser() != null ? task.getUser().getId() : null);
+    }
+
+    public List<TaskDTO> toDtoList(List<Task> tasks) {
+        List<TaskDTO> dtos = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            dtos.add(toDto(task));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,21 @@
+package bessa.morangon.rafael.TaskFlow.domain.mapper;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.UserDTO;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import org.springframework.stereotype.Component;
+
+// Conversão User -> UserDTO escrita à mão (a senha nunca é copiada)
+@Component
+public class UserMapper {
+
+    public UserDTO toDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserDTO(
+                user.getId(),
+                user.getFullName(),
+                user.getAge(),
+                user.getEmail());
+    }
+}
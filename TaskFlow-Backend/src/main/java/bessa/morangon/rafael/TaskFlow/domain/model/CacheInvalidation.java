@@ -0,0 +1,55 @@
+package bessa.morangon.rafael.TaskFlow.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Registro de uma alteração que os outros nós precisam refletir nos seus caches locais.
+// Gravado na mesma transação da alteração (CacheInvalidationLog) e apagado depois do período de retenção.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "cache_invalidations")
+public class CacheInvalidation {
+
+    public enum Scope {
+        // Uma task (taskId) e o que o nó mantém das tasks do usuário
+        TASK,
+        // Só o que o nó mantém das tasks do usuário (tasks novas ainda não estão em cache nenhum)
+        USER_TASKS,
+        // Alteração em lote: todas as tasks em cache, além das do usuário
+        BULK_TASKS,
+        // O usuário (userId) e a autenticação pelo email
+        USER
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cache_invalidations_seq")
+    @SequenceGenerator(name = "cache_invalidations_seq", sequenceName = "cache_invalidations_seq", allocationSize = 50)
+    private Long id;
+
+    // Nó que fez a alteração; ele mesmo já atualizou os seus caches após o commit
+    private String origin;
+
+    @Enumerated(EnumType.STRING)
+    private Scope scope;
+
+    private Long userId;
+
+    private Long taskId;
+
+    private String email;
+
+    private LocalDateTime createdAt;
+
+    public CacheInvalidation(String origin, Scope scope, Long userId, Long taskId, String email, LocalDateTime createdAt) {
+        this.origin = origin;
+        this.scope = scope;
+        this.userId = userId;
+        this.taskId = taskId;
+        this.email = email;
+        this.createdAt = createdAt;
+    }
+}
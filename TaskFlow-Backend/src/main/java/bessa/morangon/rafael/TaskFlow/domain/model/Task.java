@@ -5,18 +5,32 @@ import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.beans.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
+// UPDATE só com as colunas alteradas: um PATCH de status não reescreve a descrição (NVARCHAR(MAX))
+// Cache de segundo nível: busca por id (GET/PUT/PATCH/DELETE /tasks/{id}) sem ir ao banco. Só as
+// operações em lote (/tasks/bulk) usam UPDATE/DELETE em massa, que descartam a região inteira.
+// Com @DynamicUpdate e sem @Version, o Hibernate não regrava a entrada num insert/update: ele a
+// invalida, e a próxima leitura recarrega a task uma vez (um SELECT) e volta a guardá-la.
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TASKS_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "tasks")
 public class Task {
 
+    // Sequence com blocos de 50 ids (otimizador pooled): o id é conhecido antes do INSERT,
+    // o que permite ao Hibernate agrupar os inserts em batch (com IDENTITY ele não agrupa)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -37,8 +51,12 @@ public class Task {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    // LAZY: listas de tasks não disparam um SELECT de usuário por linha.
+    // Fora do equals/hashCode/toString para não inicializar o proxy sem querer.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @PrePersist
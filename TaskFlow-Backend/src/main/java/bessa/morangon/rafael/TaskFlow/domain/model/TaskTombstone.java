@@ -0,0 +1,33 @@
+package bessa.morangon.rafael.TaskFlow.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Registro de uma task removida, para o GET /tasks/changes avisar os clientes da remoção.
+// Guarda só ids (sem FK para tasks, que já não existe mais) e é apagado depois do período de retenção.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_tombstones")
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_tombstones_seq")
+    @SequenceGenerator(name = "task_tombstones_seq", sequenceName = "task_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    private Long taskId;
+
+    private Long userId;
+
+    private LocalDateTime deletedAt;
+
+    public TaskTombstone(Long taskId, Long userId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package bessa.morangon.rafael.TaskFlow.domain.model;
 
+import bessa.morangon.rafael.TaskFlow.domain.configuration.beans.SecondLevelCacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -7,10 +8,17 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.List;
 
+// Cache de segundo nível por id e por e-mail (natural id): login e autenticação sem SELECT de usuário
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS_REGION)
+@NaturalIdCache(region = SecondLevelCacheConfig.USERS_BY_EMAIL_REGION)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -18,8 +26,10 @@ import java.util.List;
 @Table(name = "users")
 public class User {
 
+    // Sequence com blocos de 50 ids, como em Task (permite batch de inserts)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Full name is required")
     @Pattern(regexp = "[a-zA-Z ]+", message = "Full name must contain only letters and spaces")
@@ -30,6 +40,7 @@ public class User {
     @NotBlank(message = "E-mail is required")
     @Email
     @Column(unique = true)
+    @NaturalId(mutable = true)
     private String email;
 
     @NotBlank(message = "Password is required")
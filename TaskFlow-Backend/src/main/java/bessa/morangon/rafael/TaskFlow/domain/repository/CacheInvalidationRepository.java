@@ -0,0 +1,28 @@
+package bessa.morangon.rafael.TaskFlow.domain.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.CacheInvalidation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    // Registros de outros nós gravados depois do instante informado (índice (created_at))
+    @Query("""
+            SELECT ci FROM CacheInvalidation ci
+             WHERE ci.createdAt > :since AND ci.origin <> :origin
+             ORDER BY ci.createdAt, ci.id
+            """)
+    List<CacheInvalidation> findFromOthersSince(@Param("origin") String origin, @Param("since") LocalDateTime since);
+
+    // Limpeza dos registros mais antigos que a retenção; retorna quantos foram apagados
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation ci WHERE ci.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,21 @@
+package bessa.morangon.rafael.TaskFlow.domain.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Operações em lote com os mesmos critérios dinâmicos da busca (TaskSpecifications)
+public interface TaskBulkRepository {
+
+    // Remove as tasks que atendem aos critérios sem trazê-las para a memória: um INSERT ... SELECT
+    // grava o registro de remoção de cada uma (task_tombstones) e um DELETE com os mesmos critérios
+    // as apaga. Retorna o número de tasks apagadas.
+    int deleteWithTombstones(Specification<Task> spec, LocalDateTime deletedAt);
+
+    // Um único UPDATE com os critérios no WHERE; campos nulos não são alterados.
+    // Retorna o número de linhas afetadas.
+    int updateStatusAndPriority(Specification<Task> spec, Status status, Priority priority, LocalDateTime updatedAt);
+}
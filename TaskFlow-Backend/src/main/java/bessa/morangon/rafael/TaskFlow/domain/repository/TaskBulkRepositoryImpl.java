@@ -0,0 +1,81 @@
+package bessa.morangon.rafael.TaskFlow.domain.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.TaskTombstone;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaInsertSelect;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaRoot;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Implementação via Criteria API: JPQL fixo não cobre os filtros opcionais
+class TaskBulkRepositoryImpl implements TaskBulkRepository {
+
+    private final EntityManager entityManager;
+
+    TaskBulkRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int deleteWithTombstones(Specification<Task> spec, LocalDateTime deletedAt) {
+        Session session = entityManager.unwrap(Session.class);
+        HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+
+        // INSERT INTO task_tombstones (task_id, user_id, deleted_at) SELECT id, user_id, :deletedAt FROM tasks WHERE ...
+        JpaCriteriaInsertSelect<TaskTombstone> insert = cb.createCriteriaInsertSelect(TaskTombstone.class);
+        JpaRoot<TaskTombstone> tombstone = insert.getTarget();
+        insert.setInsertionTargetPaths(tombstone.get("taskId"), tombstone.get("userId"), tombstone.get("deletedAt"));
+        JpaCriteriaQuery<Tuple> selected = cb.createTupleQuery();
+        Root<Task> task = selected.from(Task.class);
+        selected.multiselect(task.get("id"), task.get("user").get("id"), cb.value(deletedAt))
+                .where(spec.toPredicate(task, selected, cb));
+        insert.select(selected);
+
+        // DELETE FROM tasks WHERE ... (mesmos critérios)
+        CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+        Root<Task> root = delete.from(Task.class);
+        delete.where(spec.toPredicate(root, cb.createQuery(Task.class), cb));
+
+        entityManager.flush();
+        session.createMutationQuery(insert).executeUpdate();
+        int deleted = entityManager.createQuery(delete).executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    public int updateStatusAndPriority(Specification<Task> spec, Status status, Priority priority,
+                                       LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+
+        if (status != null) {
+            update.set(root.<Status>get("status"), status);
+        }
+        if (priority != null) {
+            update.set(root.<Priority>get("priority"), priority);
+        }
+        // UPDATE em massa não dispara @PreUpdate; o updatedAt é o que a sincronização incremental lê
+        update.set(root.<LocalDateTime>get("updatedAt"), updatedAt);
+        update.where(spec.toPredicate(root, cb.createQuery(Task.class), cb));
+
+        // Mesmo comportamento do @Modifying(flushAutomatically, clearAutomatically) das outras queries
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
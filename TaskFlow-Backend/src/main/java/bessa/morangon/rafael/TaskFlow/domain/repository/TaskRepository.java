@@ -1,16 +1,31 @@
 package bessa.morangon.rafael.TaskFlow.domain.repository;
 
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskCount;
 import bessa.morangon.rafael.TaskFlow.domain.model.Status;
 import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskBulkRepository {
+
+    String STREAM_FETCH_SIZE = "500";
 
     // Buscar tasks de um usuário específico com paginação
     Page<Task> findByUserId(Long userId, Pageable pageable);
@@ -23,4 +38,110 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     // Buscar por status e usuário
     List<Task> findByUserIdAndStatus(Long userId, Status status);
+
+    // Projeção de leitura: só as colunas da task + user_id (FK), sem join nem SELECT extra de usuário
+    @Query("""
+            SELECT new bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO(
+                   t.id, t.title, t.description, t.dueDate, t.priority, t.status, t.user.id)
+              FROM Task t
+             WHERE t.user.id = :userId
+             ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TaskDTO> findDtosByUserId(@Param("userId") Long userId);
+
+    // Mesma projeção como Stream sobre o cursor JDBC, lido em blocos de STREAM_FETCH_SIZE linhas.
+    // Precisa de transação aberta enquanto for consumido e deve ser fechado (try-with-resources).
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT new bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO(
+                   t.id, t.title, t.description, t.dueDate, t.priority, t.status, t.user.id)
+              FROM Task t
+             WHERE t.user.id = :userId
+             ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    Stream<TaskDTO> streamDtosByUserId(@Param("userId") Long userId);
+
+    // Mesma projeção, paginada (a ordenação vem do Pageable)
+    @Query(value = """
+            SELECT new bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO(
+                   t.id, t.title, t.description, t.dueDate, t.priority, t.status, t.user.id)
+              FROM Task t
+             WHERE t.user.id = :userId
+            """,
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId")
+    Page<TaskDTO> findDtosByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Tasks criadas/alteradas depois do instante informado, para a sincronização incremental
+    // (índice (user_id, updated_at))
+    @Query("""
+            SELECT new bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO(
+                   t.id, t.title, t.description, t.dueDate, t.priority, t.status, t.user.id)
+              FROM Task t
+             WHERE t.user.id = :userId AND t.updatedAt > :since
+             ORDER BY t.updatedAt, t.id
+            """)
+    List<TaskDTO> findDtosChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    // Estatísticas: quantidade de tasks por status e prioridade (uma linha por combinação existente)
+    @Query("""
+            SELECT new bessa.morangon.rafael.TaskFlow.domain.dto.TaskCount(t.status, t.priority, COUNT(t))
+              FROM Task t
+             WHERE t.user.id = :userId
+             GROUP BY t.status, t.priority
+            """)
+    List<TaskCount> countByStatusAndPriority(@Param("userId") Long userId);
+
+    // Tasks em aberto (status nulo conta como pendente) vencidas antes do instante informado
+    // (índice (user_id, due_date))
+    @Query("""
+            SELECT COUNT(t) FROM Task t
+             WHERE t.user.id = :userId
+               AND (t.status IS NULL OR t.status <> bessa.morangon.rafael.TaskFlow.domain.model.Status.DONE)
+               AND t.dueDate < :before
+            """)
+    long countOpenDueBefore(@Param("userId") Long userId, @Param("before") LocalDateTime before);
+
+    // Vencimentos das tasks em aberto no intervalo [from, to)
+    @Query("""
+            SELECT t.dueDate FROM Task t
+             WHERE t.user.id = :userId
+               AND (t.status IS NULL OR t.status <> bessa.morangon.rafael.TaskFlow.domain.model.Status.DONE)
+               AND t.dueDate >= :from AND t.dueDate < :to
+            """)
+    List<LocalDateTime> findOpenDueDatesBetween(@Param("userId") Long userId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    // Paginação por cursor (keyset): primeira página, mais recentes primeiro.
+    // O id desempata tasks com o mesmo createdAt, garantindo uma ordem total e estável.
+    // Retorna List (e não Page) para não disparar o COUNT.
+    @Query("""
+            SELECT t FROM Task t
+             WHERE t.user.id = :userId
+             ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Task> findFirstKeysetPage(@Param("userId") Long userId, Limit limit);
+
+    // Próximas páginas: continua a partir da última (createdAt, id) retornada,
+    // usando o índice (user_id, created_at, id) em vez de OFFSET
+    @Query("""
+            SELECT t FROM Task t
+             WHERE t.user.id = :userId
+               AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+             ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Task> findKeysetPageAfter(@Param("userId") Long userId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Limit limit);
+
+    // Task pelo id, só se pertencer ao usuário. Vai pelo findById para aproveitar o cache de
+    // segundo nível (leitura quente não chega ao banco); o dono é conferido em memória, pelo id
+    // da referência ao usuário, sem carregá-lo.
+    default Optional<Task> findByIdAndUserId(Long id, Long userId) {
+        return findById(id).filter(task -> task.getUser().getId().equals(userId));
+    }
+
+    // Várias tasks do usuário de uma vez; ids de outros usuários ficam de fora
+    List<Task> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
 }
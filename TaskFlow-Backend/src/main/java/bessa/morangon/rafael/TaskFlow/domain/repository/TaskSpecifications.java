@@ -0,0 +1,65 @@
+package bessa.morangon.rafael.TaskFlow.domain.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskFilter;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+// Critérios dinâmicos para a busca de tasks: só entram no WHERE os filtros informados.
+// O filtro por dono vem sempre primeiro, para o banco usar os índices (user_id, ...).
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> search(Long userId, TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            if (filter.getDueFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.getDueFrom()));
+            }
+            if (filter.getDueTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), filter.getDueTo()));
+            }
+            if (filter.getQ() != null && !filter.getQ().isBlank()) {
+                String pattern = "%" + escapeLike(filter.getQ().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE)));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Tasks do usuário entre os ids informados (ids de outros usuários simplesmente não casam)
+    public static Specification<Task> ownedIds(Long userId, Collection<Long> ids) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("user").get("id"), userId),
+                root.get("id").in(ids));
+    }
+
+    // % e _ digitados pelo usuário são procurados literalmente
+    private static String escapeLike(String text) {
+        return text
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,28 @@
+package bessa.morangon.rafael.TaskFlow.domain.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Ids das tasks do usuário removidas depois do instante informado (índice (user_id, deleted_at))
+    @Query("""
+            SELECT tt.taskId FROM TaskTombstone tt
+             WHERE tt.userId = :userId AND tt.deletedAt > :since
+             ORDER BY tt.deletedAt, tt.taskId
+            """)
+    List<Long> findTaskIdsDeletedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    // Limpeza dos registros mais antigos que a retenção; retorna quantos foram apagados
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
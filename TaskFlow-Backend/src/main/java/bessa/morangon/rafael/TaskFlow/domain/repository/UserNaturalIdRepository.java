@@ -0,0 +1,11 @@
+package bessa.morangon.rafael.TaskFlow.domain.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+
+import java.util.Optional;
+
+// Busca de usuário pelo e-mail (natural id), servida pelo cache de segundo nível quando possível
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,33 @@
+package bessa.morangon.rafael.TaskFlow.domain.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Uma query derivada (WHERE email = ?) sempre vai ao banco; o natural id passa antes pelo
+// cache "users-by-email" (e-mail -> id) e depois pelo cache "users" (id -> usuário)
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    UserNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Transação própria: fora de uma, a Session do EntityManager compartilhado já viria fechada.
+    // Não é readOnly: com réplica de leitura (ReadReplicaConfig), login e cadastro leem o primário,
+    // e quem acabou de se cadastrar já consegue entrar.
+    @Override
+    @Transactional
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
@@ -4,12 +4,8 @@ import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     // ADICIONADO: Método para verificar se email existe (performance)
     boolean existsByEmail(String email);
@@ -0,0 +1,191 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.UserDetailsCache;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.CacheInvalidation;
+import bessa.morangon.rafael.TaskFlow.domain.model.CacheInvalidation.Scope;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import bessa.morangon.rafael.TaskFlow.domain.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Coerência dos caches locais (segundo nível do Hibernate, UserDetailsCache e os listeners de
+ * TaskChangedEvent) entre várias instâncias, sem broker: pela tabela cache_invalidations.
+ *
+ * Escrita: cada alteração de task (TaskChangedEvent) ou de usuário (UserService) vira um registro,
+ * gravado antes do commit da mesma transação; uma alteração desfeita não deixa registro. Os
+ * registros repetidos de uma transação são gravados uma vez só.
+ *
+ * Leitura: cada nó consulta a tabela a cada poll-interval a partir da maior data já vista (menos
+ * commit-lag, para não perder transações que gravaram antes e commitaram depois, ou relógios um
+ * pouco diferentes) e aplica só os registros de outros nós que ainda não aplicou. As tasks do
+ * usuário viram um TaskChangedEvent BULK local: versões/ETags, lista, busca e estatísticas são
+ * descartadas e as conexões SSE deste nó recebem resync.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationLog {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheInvalidationRepository repository;
+    private final UserDetailsCache userDetailsCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Duration commitLag;
+    private final Duration retention;
+    private final Counter applied;
+
+    // Registros já aplicados que ainda estão dentro da janela relida a cada consulta
+    private final Map<Long, LocalDateTime> seen = new HashMap<>();
+    private LocalDateTime highWaterMark;
+
+    public CacheInvalidationLog(CacheInvalidationRepository repository,
+                                UserDetailsCache userDetailsCache,
+                                EntityManagerFactory entityManagerFactory,
+                                ApplicationEventPublisher eventPublisher,
+                                Clock clock,
+                                MeterRegistry meterRegistry,
+                                @Value("${cache-invalidation.commit-lag:5s}") Duration commitLag,
+                                @Value("${cache-invalidation.retention:1h}") Duration retention) {
+        this.repository = repository;
+        this.userDetailsCache = userDetailsCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.commitLag = commitLag;
+        this.retention = retention;
+        this.applied = Counter.builder("cache.invalidation.applied")
+                .description("Alterações de outros nós aplicadas aos caches deste nó")
+                .register(meterRegistry);
+        // Caches começam vazios: nada anterior à inicialização precisa ser aplicado
+        this.highWaterMark = LocalDateTime.now(clock);
+    }
+
+    // Síncrono (não AFTER_COMMIT): o registro entra na transação que publicou o evento
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> append(new Pending(Scope.USER_TASKS, event.userId(), null, null));
+            case UPDATED, DELETED -> append(new Pending(Scope.TASK, event.userId(), event.taskId(), null));
+            case BULK -> append(new Pending(Scope.BULK_TASKS, event.userId(), null, null));
+        }
+    }
+
+    // Usuário alterado ou removido; o email é o que os outros nós tiram do cache de autenticação
+    public void userChanged(Long userId, String email) {
+        append(new Pending(Scope.USER, userId, null, email));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void append(Pending entry) {
+        // Sem transação não há alteração a propagar: é o próprio poll() republicando registros de outro nó
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Set<Pending> pending = (Set<Pending>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Pending> transactionEntries = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, transactionEntries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(transactionEntries);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(CacheInvalidationLog.this);
+                }
+            });
+            pending = transactionEntries;
+        }
+        pending.add(entry);
+    }
+
+    private void write(Set<Pending> entries) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        repository.saveAll(entries.stream()
+                .map(entry -> new CacheInvalidation(nodeId, entry.scope(), entry.userId(), entry.taskId(), entry.email(), now))
+                .toList());
+    }
+
+    // Aplica os registros novos de outros nós; retorna quantos
+    @Scheduled(fixedDelayString = "${cache-invalidation.poll-interval:1s}")
+    public synchronized int poll() {
+        List<CacheInvalidation> entries = repository.findFromOthersSince(nodeId, highWaterMark.minus(commitLag));
+
+        int count = 0;
+        for (CacheInvalidation entry : entries) {
+            if (!seen.containsKey(entry.getId())) {
+                apply(entry);
+                seen.put(entry.getId(), entry.getCreatedAt());
+                count++;
+            }
+            if (entry.getCreatedAt().isAfter(highWaterMark)) {
+                highWaterMark = entry.getCreatedAt();
+            }
+        }
+
+        // Fora da janela os registros não voltam mais na consulta
+        LocalDateTime windowStart = highWaterMark.minus(commitLag);
+        seen.values().removeIf(createdAt -> !createdAt.isAfter(windowStart));
+
+        applied.increment(count);
+        return count;
+    }
+
+    private void apply(CacheInvalidation entry) {
+        log.debug("Aplicando invalidação {} do nó {}", entry.getScope(), entry.getOrigin());
+        switch (entry.getScope()) {
+            case TASK -> {
+                entityManagerFactory.getCache().evict(Task.class, entry.getTaskId());
+                eventPublisher.publishEvent(TaskChangedEvent.bulk(entry.getUserId()));
+            }
+            case USER_TASKS -> eventPublisher.publishEvent(TaskChangedEvent.bulk(entry.getUserId()));
+            case BULK_TASKS -> {
+                entityManagerFactory.getCache().evict(Task.class);
+                eventPublisher.publishEvent(TaskChangedEvent.bulk(entry.getUserId()));
+            }
+            case USER -> {
+                entityManagerFactory.getCache().evict(User.class, entry.getUserId());
+                // email -> id: o email antigo não pode continuar resolvendo para o usuário
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictNaturalIdData(User.class);
+                userDetailsCache.invalidate(entry.getEmail());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${cache-invalidation.purge-cron:0 */10 * * * *}")
+    @Transactional
+    public void purge() {
+        int purged = repository.deleteOlderThan(LocalDateTime.now(clock).minus(retention));
+        log.debug("{} registros de invalidação de cache apagados", purged);
+    }
+
+    private record Pending(Scope scope, Long userId, Long taskId, String email) {
+    }
+}
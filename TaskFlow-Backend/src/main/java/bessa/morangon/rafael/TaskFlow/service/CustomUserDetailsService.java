@@ -1,8 +1,12 @@
 package bessa.morangon.rafael.TaskFlow.service;
 
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.AuthenticatedUser;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.UserDetailsCache;
 import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -12,27 +16,39 @@ import java.util.Optional;
 
 @Service
 @AllArgsConstructor
+@Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
+        if (email == null) {
+            return loadFromDatabase(null);
+        }
+
+        // Só consulta o banco em cache miss; usuários inexistentes não são cacheados
+        return userDetailsCache.get(email, this::loadFromDatabase);
+    }
+
+    private AuthenticatedUser loadFromDatabase(String email) {
+
         Optional<User> userOpt = userRepository.findByEmail(email);
 
         if (userOpt.isEmpty()) {
-            System.err.println("Usuário não encontrado: " + email);
+            log.debug("Usuário não encontrado: {}", email);
             throw new UsernameNotFoundException("User not found: " + email);
         }
 
         User user = userOpt.get();
-        System.out.println("Usuário encontrado: " + user.getEmail());
+        log.debug("Usuário encontrado: {}", user.getEmail());
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities("USER")
-                .build();
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                AuthorityUtils.createAuthorityList("USER"));
     }
 }
@@ -0,0 +1,136 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperation;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserção de várias tasks de uma vez (POST /tasks/batch) e validação do lote de
+ * operações de POST /tasks/ops.
+ *
+ * Tudo é validado antes do primeiro INSERT. Os inserts saem em batches JDBC (ids por sequence)
+ * e a cada flushSize tasks o contexto de persistência é descarregado e limpo, para não crescer
+ * com o tamanho do lote.
+ */
+@Component
+public class TaskBatchWriter {
+
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final int maxSize;
+    private final int flushSize;
+
+    public TaskBatchWriter(EntityManager entityManager,
+                           Validator validator,
+                           @Value("${task-batch.max-size:500}") int maxSize,
+                           @Value("${task-batch.flush-size:50}") int flushSize) {
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.maxSize = maxSize;
+        this.flushSize = flushSize;
+    }
+
+    // Persiste as tasks para o dono informado e devolve os ids na ordem recebida
+    @Transactional
+    public List<Long> insertAll(List<Task> tasks, User owner) {
+
+        checkSize(tasks, "task");
+        // Erros com o índice da task: "tasks[3].title" -> "Title is required"
+        validate(new TaskBatch(tasks));
+
+        List<Long> ids = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            // id nunca vem do cliente
+            task.setId(null);
+            task.setUser(owner);
+            entityManager.persist(task);
+            ids.add(task.getId());
+
+            if ((i + 1) % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+
+        return ids;
+    }
+
+    // Regras do lote de POST /tasks/ops, conferidas antes de qualquer escrita:
+    // CREATE traz a task e nenhum alvo; UPDATE/DELETE apontam para exatamente um alvo
+    // (id existente ou ref a um tempId criado antes no lote); UPDATE traz a task.
+    public void validateOperations(List<TaskOperation> operations) {
+
+        checkSize(operations, "operation");
+        // Erros com o índice da operação: "operations[2].task.title" -> "Title is required"
+        validate(new OperationBatch(operations));
+
+        Set<String> tempIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskOperation operation = operations.get(i);
+            String position = "operations[" + i + "]: ";
+
+            if (operation.getOp() == TaskOperation.Type.CREATE) {
+                if (operation.getTask() == null) {
+                    throw new InvalidRequestException(position + "task is required");
+                }
+                if (operation.getId() != null || operation.getRef() != null) {
+                    throw new InvalidRequestException(position + "create does not take id or ref");
+                }
+                if (operation.getTempId() != null && !tempIds.add(operation.getTempId())) {
+                    throw new InvalidRequestException(position + "duplicate tempId '" + operation.getTempId() + "'");
+                }
+                continue;
+            }
+
+            if ((operation.getId() == null) == (operation.getRef() == null)) {
+                throw new InvalidRequestException(position + "either id or ref is required");
+            }
+            if (operation.getRef() != null && !tempIds.contains(operation.getRef())) {
+                throw new InvalidRequestException(position + "ref '" + operation.getRef()
+                        + "' does not match a tempId created earlier in the batch");
+            }
+            if (operation.getOp() == TaskOperation.Type.UPDATE && operation.getTask() == null) {
+                throw new InvalidRequestException(position + "task is required");
+            }
+        }
+    }
+
+    private void checkSize(List<?> items, String name) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRequestException("At least one " + name + " is required");
+        }
+        if (items.size() > maxSize) {
+            throw new InvalidRequestException("At most " + maxSize + " " + name + "s per batch");
+        }
+    }
+
+    private <T> void validate(T batch) {
+        Set<ConstraintViolation<T>> violations = validator.validate(batch);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    record TaskBatch(@Valid List<@NotNull Task> tasks) {
+    }
+
+    record OperationBatch(@Valid List<@NotNull TaskOperation> operations) {
+    }
+}
@@ -0,0 +1,226 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia as alterações de task de cada usuário para as conexões SSE abertas por ele (GET /tasks/stream).
+ *
+ * Conexão parada não ocupa thread (async do servlet): só a fila do assinante fica em memória.
+ * O listener do commit apenas enfileira; o envio é feito por um pool pequeno de threads, então
+ * um cliente lento nunca segura a transação nem os outros assinantes. Se a fila de um assinante
+ * enche, os eventos pendentes são descartados e ele recebe um "resync": o cliente deve buscar
+ * o que perdeu em GET /tasks/changes.
+ *
+ * Um cliente que para de ler segura a thread de envio dele até o prazo de escrita do Tomcat
+ * (server.tomcat.connection-timeout): o envio falha e o assinante é removido.
+ */
+@Component
+@Slf4j
+public class TaskEventStream {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Executor sender;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final int maxSubscribersPerUser;
+    private final Counter resyncs;
+
+    @Autowired
+    public TaskEventStream(MeterRegistry meterRegistry,
+                           @Value("${task-stream.timeout:30m}") Duration timeout,
+                           @Value("${task-stream.buffer-size:64}") int bufferSize,
+                           @Value("${task-stream.max-subscribers-per-user:5}") int maxSubscribersPerUser,
+                           @Value("${task-stream.sender-threads:4}") int senderThreads) {
+        this(meterRegistry, timeout, bufferSize, maxSubscribersPerUser,
+                Executors.newFixedThreadPool(senderThreads, senderThreadFactory()));
+    }
+
+    TaskEventStream(MeterRegistry meterRegistry, Duration timeout, int bufferSize,
+                    int maxSubscribersPerUser, Executor sender) {
+        this.sender = sender;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.resyncs = Counter.builder("task.stream.resyncs")
+                .description("Assinantes lentos que perderam eventos e receberam resync")
+                .register(meterRegistry);
+        Gauge.builder("task.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Conexões SSE abertas")
+                .register(meterRegistry);
+    }
+
+    // Nova conexão do usuário; passando do limite, a mais antiga é encerrada
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // compute (e não computeIfAbsent + add) para não adicionar numa lista que o close() acabou de descartar
+        List<Subscriber> userSubscribers = subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        subscriberCount.incrementAndGet();
+        if (userSubscribers.size() > maxSubscribersPerUser) {
+            userSubscribers.get(0).emitter.complete();
+        }
+
+        // Primeiro envio libera os headers da resposta (proxies só repassam o stream depois disso)
+        subscriber.offer(SseEmitter.event().comment("connected"), false);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Subscriber> userSubscribers = subscribers.get(event.userId());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            // Lote: o cliente busca o que mudou em GET /tasks/changes, como num resync
+            subscriber.offer(event.type() == TaskChangedEvent.Type.BULK
+                    ? SseEmitter.event().name(RESYNC_EVENT).data("")
+                    : SseEmitter.event().name(event.type().name().toLowerCase()).data(event), true);
+        }
+    }
+
+    // Mantém a conexão viva em proxies e detecta clientes que já foram embora (o envio falha)
+    @Scheduled(fixedRateString = "${task-stream.heartbeat:25s}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers
+                .forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"), false)));
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers
+                .forEach(subscriber -> subscriber.emitter.complete()));
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory senderThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-stream-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    // Uma conexão SSE: fila limitada + no máximo um envio em andamento por vez
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Fila cheia: eventos de task descartam o que estava pendente e viram resync;
+        // heartbeats são simplesmente ignorados
+        void offer(SseEventBuilder event, boolean resyncOnOverflow) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                if (!resyncOnOverflow) {
+                    return;
+                }
+                queue.clear();
+                if (!overflowed) {
+                    overflowed = true;
+                    resyncs.increment();
+                    log.warn("Assinante SSE do usuário {} não acompanhou os eventos; enviando resync", userId);
+                }
+            }
+            scheduleSend();
+        }
+
+        private void scheduleSend() {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    if (overflowed) {
+                        overflowed = false;
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                    }
+                    SseEventBuilder event = queue.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Cliente desconectou ou a conexão já foi encerrada
+                emitter.completeWithError(ex);
+                close();
+            } finally {
+                sending.set(false);
+            }
+            // Evento que chegou entre o último poll e a liberação do "sending"
+            if (!closed.get() && (overflowed || !queue.isEmpty())) {
+                scheduleSend();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                subscriberCount.decrementAndGet();
+                subscribers.computeIfPresent(userId, (id, userSubscribers) -> {
+                    userSubscribers.remove(this);
+                    return userSubscribers.isEmpty() ? null : userSubscribers;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.beans.ReplicaReads;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Resposta de GET /tasks (lista completa, sem paginação) de cada usuário, já serializada em JSON.
+ *
+ * Um acerto devolve os bytes guardados: sem query, sem mapeamento e sem serialização.
+ * Cada entrada guarda a ETag (TaskVersionTracker) com que foi montada e só é servida enquanto
+ * essa ETag for a atual; além disso, a entrada do usuário é descartada a cada TaskChangedEvent
+ * após o commit. Uma carga que corra junto com um commit nunca é servida depois dele.
+ *
+ * Pedidos simultâneos do mesmo usuário sem entrada válida fazem uma única carga (TaskReadCoalescer):
+ * os demais esperam por ela e recebem os mesmos bytes. O limite é pelo tamanho total do JSON guardado.
+ * Uma carga lida da réplica de leitura é devolvida mas não guardada.
+ */
+@Component
+public class TaskListCache {
+
+    private final ObjectMapper objectMapper;
+    private final TaskReadCoalescer coalescer;
+    private final Cache<Long, CachedList> lists;
+
+    public TaskListCache(ObjectMapper objectMapper,
+                         TaskReadCoalescer coalescer,
+                         MeterRegistry meterRegistry,
+                         @Value("${task-list.cache.max-size:64MB}") DataSize maxSize,
+                         @Value("${task-list.cache.expire-after-access:10m}") Duration expireAfterAccess) {
+        this.objectMapper = objectMapper;
+        this.coalescer = coalescer;
+        this.lists = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long userId, CachedList list) -> list.json().length)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, "task.list");
+    }
+
+    // JSON da lista do usuário para a ETag atual; o loader só roda quando não há entrada válida
+    public byte[] get(Long userId, String etag, Supplier<List<TaskDTO>> loader) {
+        CachedList cached = lists.getIfPresent(userId);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached.json();
+        }
+        // Quem chega durante a carga espera por ela; a entrada gravada leva a ETag lida antes da query,
+        // então uma carga concluída depois de um commit (e da invalidação) nunca é servida
+        return coalescer.execute("tasks:" + userId + ":" + etag, () -> {
+            byte[] json = serialize(loader.get());
+            // Lida da réplica (ReplicaReads): pode estar atrasada, não fica guardada sob a ETag atual
+            if (!ReplicaReads.inCurrentTransaction()) {
+                lists.put(userId, new CachedList(etag, json));
+            }
+            return json;
+        });
+    }
+
+    // Há lista guardada para a ETag; falso depois de um get() cuja carga não foi guardada
+    public boolean contains(Long userId, String etag) {
+        CachedList cached = lists.asMap().get(userId);
+        return cached != null && cached.etag().equals(etag);
+    }
+
+    // Qualquer alteração nas tasks do usuário (inclusive em lote) descarta a lista dele
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lists.invalidate(event.userId());
+    }
+
+    private byte[] serialize(List<TaskDTO> tasks) {
+        try {
+            return objectMapper.writeValueAsBytes(tasks);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record CachedList(String etag, byte[] json) {
+    }
+}
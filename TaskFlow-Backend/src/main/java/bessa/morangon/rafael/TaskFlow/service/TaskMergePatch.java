@@ -0,0 +1,93 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * JSON Merge Patch (RFC 7396) de uma task: só os campos presentes no corpo são alterados,
+ * e null apaga o valor. Só os campos enviados são validados, então mudar o status de uma task
+ * já vencida não esbarra no @Future do dueDate.
+ *
+ * Com @DynamicUpdate na entidade, o UPDATE gerado no flush leva apenas as colunas que mudaram.
+ */
+@Component
+public class TaskMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public TaskMergePatch(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    // Aplica o patch na task; retorna true se algum valor de fato mudou
+    public boolean apply(Task task, JsonNode patch) {
+
+        if (patch == null || !patch.isObject() || patch.isEmpty()) {
+            throw new InvalidRequestException("Patch must be a non-empty JSON object");
+        }
+
+        boolean changed = false;
+        Set<String> patched = new HashSet<>();
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            JsonNode value = field.getValue();
+
+            changed |= switch (field.getKey()) {
+                case "title" -> set(task::getTitle, task::setTitle, read(field.getKey(), value, String.class));
+                case "description" -> set(task::getDescription, task::setDescription, read(field.getKey(), value, String.class));
+                case "dueDate" -> set(task::getDueDate, task::setDueDate, read(field.getKey(), value, LocalDateTime.class));
+                case "priority" -> set(task::getPriority, task::setPriority, read(field.getKey(), value, Priority.class));
+                case "status" -> set(task::getStatus, task::setStatus, read(field.getKey(), value, Status.class));
+                default -> throw new InvalidRequestException("Field '" + field.getKey() + "' cannot be patched");
+            };
+            patched.add(field.getKey());
+        }
+
+        Set<ConstraintViolation<Task>> violations = new HashSet<>();
+        for (String property : patched) {
+            violations.addAll(validator.validateProperty(task, property));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        return changed;
+    }
+
+    private <T> T read(String field, JsonNode value, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(value, type);
+        } catch (JsonProcessingException ex) {
+            throw new InvalidRequestException("Invalid value for '" + field + "'");
+        }
+    }
+
+    // Só chama o setter quando o valor é diferente: campo igual não vira coluna no UPDATE
+    private static <T> boolean set(Supplier<T> getter, Consumer<T> setter, T value) {
+        if (Objects.equals(getter.get(), value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+}
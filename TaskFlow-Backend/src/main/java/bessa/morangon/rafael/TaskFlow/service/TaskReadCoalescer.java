@@ -0,0 +1,104 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Leituras idênticas e simultâneas (abas, SSR do frontend, retries) compartilham uma única ida ao banco.
+ *
+ * O primeiro pedido de uma chave executa a leitura na própria thread (com a sua transação e o seu
+ * usuário); quem chega enquanto ela está em andamento espera pelo mesmo resultado, ou pela mesma
+ * exceção. Nada fica guardado depois que a leitura termina: isto não é um cache.
+ *
+ * As chaves levam a ETag atual do usuário (TaskVersionTracker), então um pedido feito depois de um
+ * commit nunca reaproveita uma leitura iniciada antes dele. Quem espera além do timeout desiste
+ * e faz a própria leitura.
+ */
+@Component
+@Slf4j
+public class TaskReadCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter timedOut;
+
+    public TaskReadCoalescer(MeterRegistry meterRegistry,
+                             @Value("${task-read.coalescing.timeout:5s}") Duration timeout) {
+        this.timeout = timeout;
+        this.executed = counter(meterRegistry, "executed", "Leituras executadas no banco");
+        this.coalesced = counter(meterRegistry, "coalesced", "Pedidos atendidos por uma leitura já em andamento");
+        this.timedOut = counter(meterRegistry, "timeout", "Pedidos que desistiram de esperar e leram sozinhos");
+        Gauge.builder("task.read.coalescing.in-flight", inFlight, Map::size)
+                .description("Leituras em andamento que aceitam novos pedidos")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> read) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> current = inFlight.putIfAbsent(key, flight);
+
+        if (current == null) {
+            return (T) lead(key, flight, read);
+        }
+        return (T) follow(key, current, read);
+    }
+
+    private Object lead(String key, CompletableFuture<Object> flight, Supplier<?> read) {
+        executed.increment();
+        try {
+            Object result = read.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object follow(String key, CompletableFuture<Object> flight, Supplier<?> read) {
+        try {
+            Object result = flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            coalesced.increment();
+            return result;
+        } catch (ExecutionException ex) {
+            // Mesmo erro da leitura compartilhada (404, 403, falha de banco)
+            coalesced.increment();
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw (Error) ex.getCause();
+        } catch (TimeoutException ex) {
+            log.warn("Leitura {} em andamento há mais de {}; seguindo sem ela", key, timeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        timedOut.increment();
+        executed.increment();
+        return read.get();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("task.read.coalescing")
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
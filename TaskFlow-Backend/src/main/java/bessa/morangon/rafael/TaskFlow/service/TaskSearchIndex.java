@@ -0,0 +1,186 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória dos termos de título e descrição das tasks, um por usuário.
+ *
+ * O índice de um usuário é montado do banco na primeira busca dele (uma query) e depois
+ * mantido pelos TaskChangedEvent publicados pelo TaskService após o commit. Índices sem
+ * uso expiram e o número de usuários em memória é limitado.
+ *
+ * Busca: todos os termos da consulta precisam aparecer (prefixo vale, "relat" acha "relatorio"),
+ * ranking por TF-IDF com peso maior para o título. Acentos e maiúsculas são ignorados.
+ */
+@Component
+@Slf4j
+public class TaskSearchIndex {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int TITLE_WEIGHT = 3;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final TaskRepository taskRepository;
+    private final Cache<Long, UserIndex> indexes;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${task-search.index.max-users:10000}") long maxUsers,
+                           @Value("${task-search.index.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.taskRepository = taskRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "task.search.index");
+    }
+
+    /**
+     * Ids das tasks do usuário que contêm todos os termos da consulta, do mais relevante
+     * para o menos relevante.
+     */
+    public List<Long> search(Long userId, String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return indexes.get(userId, this::load).search(terms, limit);
+    }
+
+    // Só atualiza índices já carregados; os demais serão montados do banco (já com a alteração)
+    // na próxima busca. O computeIfPresent espera uma carga em andamento do mesmo usuário terminar.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.BULK) {
+            // Remontado na próxima busca
+            indexes.invalidate(event.userId());
+            return;
+        }
+        indexes.asMap().computeIfPresent(event.userId(), (userId, index) -> {
+            if (event.type() == TaskChangedEvent.Type.DELETED) {
+                index.remove(event.taskId());
+            } else {
+                index.put(event.taskId(), event.task().getTitle(), event.task().getDescription());
+            }
+            return index;
+        });
+    }
+
+    private UserIndex load(Long userId) {
+        UserIndex index = new UserIndex();
+        List<TaskDTO> tasks = taskRepository.findDtosByUserId(userId);
+        tasks.forEach(task -> index.put(task.getId(), task.getTitle(), task.getDescription()));
+        log.debug("Índice de busca do usuário {} montado com {} tasks", userId, tasks.size());
+        return index;
+    }
+
+    // Minúsculas, sem acentos, quebrado em letras/dígitos; termos muito curtos são ignorados
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalized)) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Índice de um usuário: termo -> (taskId -> peso) e, para remoção, taskId -> termos
+    static final class UserIndex {
+
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+        synchronized void put(Long taskId, String title, String description) {
+            remove(taskId);
+
+            Map<String, Integer> weights = new HashMap<>();
+            tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+            tokenize(description).forEach(term -> weights.merge(term, 1, Integer::sum));
+
+            documents.put(taskId, weights);
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, weight));
+        }
+
+        synchronized void remove(Long taskId) {
+            Map<String, Integer> weights = documents.remove(taskId);
+            if (weights == null) {
+                return;
+            }
+            for (String term : weights.keySet()) {
+                Map<Long, Integer> tasks = postings.get(term);
+                tasks.remove(taskId);
+                if (tasks.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        synchronized List<Long> search(List<String> terms, int limit) {
+            Map<Long, Double> scores = null;
+
+            for (String term : terms) {
+                Map<Long, Double> termScores = new HashMap<>();
+
+                // Todos os termos indexados que começam com o termo buscado (inclusive ele mesmo)
+                for (Map.Entry<String, Map<Long, Integer>> entry
+                        : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    double idf = Math.log(1.0 + (double) documents.size() / entry.getValue().size());
+                    double factor = entry.getKey().equals(term) ? 1.0 : PREFIX_MATCH_FACTOR;
+                    entry.getValue().forEach((taskId, weight) ->
+                            termScores.merge(taskId, weight * idf * factor, Double::sum));
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((taskId, score) -> score + termScores.get(taskId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        synchronized int size() {
+            return documents.size();
+        }
+    }
+}
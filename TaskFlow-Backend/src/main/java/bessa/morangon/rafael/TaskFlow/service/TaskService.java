@@ -1,69 +1,303 @@
 package bessa.morangon.rafael.TaskFlow.service;
 
 
+import bessa.morangon.rafael.TaskFlow.domain.configuration.beans.ReplicaReads;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.ResourceNotFoundException;
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.UnauthorizedAccessException;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.AuthenticatedUser;
+import bessa.morangon.rafael.TaskFlow.domain.dto.CursorPage;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkRequest;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskChangesDTO;
 import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskExportFormat;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskFilter;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperation;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperationResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskStatsDTO;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.TaskMapper;
 import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.TaskTombstone;
 import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskSpecifications;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskTombstoneRepository;
 import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 @Slf4j
 public class TaskService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+    static final int MAX_TEXT_SEARCH_RESULTS = 100;
+
+    // O cursor de sincronização volta esse tempo no passado: uma transação que gravou updatedAt
+    // antes da leitura, mas só commitou depois, ainda é entregue na próxima chamada (reenvio é inofensivo)
+    static final Duration CHANGES_COMMIT_LAG = Duration.ofSeconds(5);
+
+    // Remoções ficam registradas por esse período; cursor mais antigo recebe a lista completa
+    static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    // Ids por operação em lote (o SQL Server aceita até 2100 parâmetros num IN)
+    static final int BULK_MAX_IDS = 1000;
+
+    // Campos aceitos em "sort" na busca; qualquer outro vira 400 em vez de erro de query
+    static final Set<String> SEARCH_SORT_PROPERTIES =
+            Set.of("id", "title", "dueDate", "priority", "status", "createdAt", "updatedAt");
+
     private TaskRepository taskRepository;
     private UserRepository userRepository;
-    private ModelMapper modelMapper;
-
-    public ResponseEntity<TaskDTO> getTaskById(Long id, Principal principal) {
+    private TaskMapper taskMapper;
+    private TaskSearchIndex taskSearchIndex;
+    private TaskStatsTracker taskStatsTracker;
+    private TaskVersionTracker taskVersionTracker;
+    private TaskTombstoneRepository taskTombstoneRepository;
+    private TaskEventStream taskEventStream;
+    private TaskStreamingWriter taskStreamingWriter;
+    private TaskListCache taskListCache;
+    private TaskReadCoalescer taskReadCoalescer;
+    private TaskBatchWriter taskBatchWriter;
+    private TaskMergePatch taskMergePatch;
+    private ApplicationEventPublisher eventPublisher;
+    private Clock clock;
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<TaskDTO> getTaskById(Long id, String ifNoneMatch, Principal principal) {
         // log.debug("Buscando task com ID: {} para usuário: {}", id, principal.getName());
 
-        // Buscar task
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        Long userId = getUserId(principal);
+
+        // Versão lida antes da query: nada mudou desde a última leitura -> 304 sem ir ao banco
+        String etag = taskVersionTracker.etag(userId);
+        if (TaskVersionTracker.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
 
-        // Verificar se task pertence ao usuário
-        User user = getUserByEmail(principal.getName());
-        validateTaskOwnership(task, user);
+        // Pelo id (cache de segundo nível) com o dono conferido em memória; pedidos iguais
+        // e simultâneos para a mesma versão compartilham a leitura
+        Loaded<TaskDTO> task = taskReadCoalescer.execute("task:" + userId + ":" + id + ":" + etag, () ->
+                Loaded.of(taskMapper.toDto(taskRepository.findByIdAndUserId(id, userId)
+                        .orElseThrow(() -> taskNotAccessible(id, userId)))));
 
-        return ResponseEntity.ok(modelMapper.map(task, TaskDTO.class));
+        return revalidated(etag, task.fromReplica()).body(task.body());
     }
 
-    public ResponseEntity<Page<TaskDTO>> getAllTasks(Pageable pageable, Principal principal) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Page<TaskDTO>> getAllTasks(Pageable pageable, String ifNoneMatch, Principal principal) {
+
+        Long userId = getUserId(principal);
 
-        User user = getUserByEmail(principal.getName());
-        Page<Task> userTasks = taskRepository.findByUserId(user.getId(), pageable);
+        String etag = taskVersionTracker.etag(userId);
+        if (TaskVersionTracker.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
 
-        return ResponseEntity.ok(userTasks.map(task -> modelMapper.map(task, TaskDTO.class)));
+        // Projeção direto para TaskDTO: sem carregar entidades nem usuários
+        Page<TaskDTO> page = taskRepository.findDtosByUserId(userId, pageable);
+        return revalidated(etag, ReplicaReads.inCurrentTransaction()).body(page);
     }
 
-    public ResponseEntity<List<TaskDTO>> getAllTasksWithoutPagination(Principal principal) {
+    public ResponseEntity<CursorPage<TaskDTO>> getTasksByCursor(String cursor, int size, Principal principal) {
 
-        User user = getUserByEmail(principal.getName());
-        List<Task> userTasks = taskRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
 
-        List<TaskDTO> taskDTOs = userTasks.stream()
-                .map(task -> modelMapper.map(task, TaskDTO.class))
-                .collect(Collectors.toList());
+        Long userId = getUserId(principal);
 
-        return ResponseEntity.ok(taskDTOs);
+        // Busca um item a mais só para saber se existe próxima página (sem COUNT)
+        Limit limit = Limit.of(size + 1);
+        List<Task> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findFirstKeysetPage(userId, limit);
+        } else {
+            TaskCursor after = TaskCursor.decode(cursor);
+            tasks = taskRepository.findKeysetPageAfter(userId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = tasks.size() > size;
+        String nextCursor = null;
+        if (hasNext) {
+            tasks = tasks.subList(0, size);
+            Task last = tasks.get(size - 1);
+            nextCursor = new TaskCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<TaskDTO> content = taskMapper.toDtoList(tasks);
+
+        return ResponseEntity.ok(new CursorPage<>(content, nextCursor, hasNext));
+    }
+
+    public ResponseEntity<Page<TaskDTO>> searchTasks(TaskFilter filter, Pageable pageable, Principal principal) {
+
+        validateFilter(filter);
+
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SEARCH_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidRequestException("Cannot sort by '" + order.getProperty() + "'");
+            }
+        }
+
+        // id como desempate final: páginas estáveis mesmo com valores repetidos na ordenação
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(Sort.Direction.DESC, "id"));
+        }
+        Pageable stablePageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+
+        Page<Task> tasks = taskRepository.findAll(
+                TaskSpecifications.search(getUserId(principal), filter), stablePageable);
+
+        return ResponseEntity.ok(tasks.map(taskMapper::toDto));
+    }
+
+    // Busca textual no índice em memória: ids das tasks em ordem de relevância, sem ir à tabela
+    public ResponseEntity<List<Long>> searchTaskIds(String query, int limit, Principal principal) {
+
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("q is required");
+        }
+        if (limit < 1 || limit > MAX_TEXT_SEARCH_RESULTS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_TEXT_SEARCH_RESULTS);
+        }
+
+        return ResponseEntity.ok(taskSearchIndex.search(getUserId(principal), query, limit));
+    }
+
+    // Contadores mantidos em memória: não percorre as tasks do usuário a cada chamada
+    public ResponseEntity<TaskStatsDTO> getTaskStats(Principal principal) {
+        return ResponseEntity.ok(taskStatsTracker.getStats(getUserId(principal)));
+    }
+
+    // Mesmo conteúdo do GET /tasks, escrito direto na resposta a partir do cursor do banco:
+    // o uso de memória não cresce com o número de tasks
+    public ResponseEntity<StreamingResponseBody> streamAllTasks(String ifNoneMatch, Principal principal) {
+
+        Long userId = getUserId(principal);
+
+        String etag = taskVersionTracker.etag(userId);
+        if (TaskVersionTracker.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        return revalidated(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(taskStreamingWriter.jsonArray(userId));
+    }
+
+    // Exportação para relatórios: todas as tasks em CSV ou NDJSON, em blocos, opcionalmente em gzip
+    public ResponseEntity<StreamingResponseBody> exportTasks(String format, boolean gzip, Principal principal) {
+
+        TaskExportFormat exportFormat = TaskExportFormat.from(format);
+        Long userId = getUserId(principal);
+
+        String filename = "tasks." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(taskStreamingWriter.export(userId, exportFormat, gzip));
+    }
+
+    // Sincronização incremental: tasks alteradas e ids removidos desde o cursor.
+    // Sem cursor (ou com cursor anterior à retenção das remoções) devolve a lista completa com reset=true.
+    public ResponseEntity<TaskChangesDTO> getChanges(String since, Principal principal) {
+
+        Long userId = getUserId(principal);
+        LocalDateTime now = LocalDateTime.now(clock);
+        String nextCursor = new ChangesCursor(now.minus(CHANGES_COMMIT_LAG)).encode();
+
+        LocalDateTime from = since == null || since.isBlank() ? null : ChangesCursor.decode(since).at();
+        if (from == null || from.isBefore(now.minus(TOMBSTONE_RETENTION))) {
+            return ResponseEntity.ok(new TaskChangesDTO(
+                    taskRepository.findDtosByUserId(userId), List.of(), nextCursor, true));
+        }
+
+        // O próximo cursor nunca volta para antes do recebido
+        if (from.isAfter(now.minus(CHANGES_COMMIT_LAG))) {
+            nextCursor = since;
+        }
+
+        return ResponseEntity.ok(new TaskChangesDTO(
+                taskRepository.findDtosChangedSince(userId, from),
+                taskTombstoneRepository.findTaskIdsDeletedSince(userId, from),
+                nextCursor,
+                false));
+    }
+
+    // Conexão SSE que recebe as alterações das tasks do usuário depois de cada commit
+    public ResponseEntity<SseEmitter> streamTaskChanges(Principal principal) {
+        return ResponseEntity.ok()
+                // nginx e afins não devem segurar o stream em buffer
+                .header("X-Accel-Buffering", "no")
+                .body(taskEventStream.subscribe(getUserId(principal)));
+    }
+
+    // Remove os registros de tasks apagadas mais antigos que a retenção (uma vez por dia)
+    @Scheduled(cron = "${task-changes.tombstone-purge-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = taskTombstoneRepository.deleteOlderThan(LocalDateTime.now(clock).minus(TOMBSTONE_RETENTION));
+        log.info("{} registros de tasks removidas apagados", purged);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<byte[]> getAllTasksWithoutPagination(String ifNoneMatch, Principal principal) {
+
+        Long userId = getUserId(principal);
+
+        String etag = taskVersionTracker.etag(userId);
+        if (TaskVersionTracker.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        // JSON pronto do cache; na falta, uma única query com só as colunas da task
+        byte[] json = taskListCache.get(userId, etag, () -> taskRepository.findDtosByUserId(userId));
+
+        // Fora do cache depois da leitura: veio da réplica (ou já foi invalidada)
+        return revalidated(etag, !taskListCache.contains(userId, etag))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
     }
 
     @Transactional
@@ -72,8 +306,7 @@ public class TaskService {
             UriComponentsBuilder uriComponentsBuilder,
             Principal principal) {
 
-        User user = getUserByEmail(principal.getName());
-        task.setUser(user);
+        task.setUser(getUser(principal));
 
         Task savedTask = taskRepository.save(task);
 
@@ -81,65 +314,346 @@ public class TaskService {
                 .buildAndExpand(savedTask.getId())
                 .toUri();
 
-        TaskDTO dto = modelMapper.map(savedTask, TaskDTO.class);
+        TaskDTO dto = taskMapper.toDto(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(dto.getUserId(), dto));
 
         return ResponseEntity.created(uri).body(dto);
     }
 
+    // Várias tasks numa transação: usuário resolvido uma vez, inserts em batch.
+    // Retorna os ids na mesma ordem do array recebido.
     @Transactional
-    public ResponseEntity<TaskDTO> updateTask(Task task, Long id, Principal principal) {
+    public ResponseEntity<List<Long>> createTasks(List<Task> tasks, Principal principal) {
+
+        User owner = getUser(principal);
+        List<Long> ids = taskBatchWriter.insertAll(tasks, owner);
+
+        for (Task task : tasks) {
+            eventPublisher.publishEvent(TaskChangedEvent.created(owner.getId(), taskMapper.toDto(task)));
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
 
-        User user = getUserByEmail(principal.getName());
+    // Lote de operações de um cliente offline, aplicado em ordem e numa única transação (tudo ou nada).
+    // Usuário resolvido uma vez, tasks existentes carregadas num SELECT só, e as escritas ficam no
+    // contexto de persistência até o commit, quando o Hibernate as envia em batches JDBC.
+    @Transactional
+    public ResponseEntity<List<TaskOperationResultDTO>> applyOperations(List<TaskOperation> operations,
+                                                                        Principal principal) {
+
+        taskBatchWriter.validateOperations(operations);
+
+        User owner = getUser(principal);
+        Long userId = owner.getId();
+
+        Map<Long, Task> existing = loadOwnedTasks(operations, userId);
+        Map<String, Task> created = new HashMap<>();
+        List<TaskOperationResultDTO> results = new ArrayList<>(operations.size());
+
+        for (int i = 0; i < operations.size(); i++) {
+            TaskOperation operation = operations.get(i);
+
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    Task task = operation.getTask();
+                    // id nunca vem do cliente
+                    task.setId(null);
+                    task.setUser(owner);
+                    taskRepository.save(task);
+                    if (operation.getTempId() != null) {
+                        created.put(operation.getTempId(), task);
+                    }
+                    TaskDTO dto = taskMapper.toDto(task);
+                    eventPublisher.publishEvent(TaskChangedEvent.created(userId, dto));
+                    results.add(new TaskOperationResultDTO(operation.getOp(), operation.getTempId(), task.getId(), dto));
+                }
+                case UPDATE -> {
+                    Task task = operationTarget(operation, i, existing, created);
+                    TaskSnapshot previous = TaskSnapshot.of(task);
+                    Task data = operation.getTask();
+                    task.setTitle(data.getTitle());
+                    task.setDescription(data.getDescription());
+                    task.setDueDate(data.getDueDate());
+                    task.setPriority(data.getPriority());
+                    task.setStatus(data.getStatus());
+                    TaskDTO dto = taskMapper.toDto(task);
+                    eventPublisher.publishEvent(TaskChangedEvent.updated(userId, previous, dto));
+                    results.add(new TaskOperationResultDTO(operation.getOp(), operation.getRef(), task.getId(), dto));
+                }
+                case DELETE -> {
+                    Task task = operationTarget(operation, i, existing, created);
+                    taskRepository.delete(task);
+                    // Task criada e removida no mesmo lote nunca chegou a outro cliente: sem registro de remoção
+                    if (operation.getId() != null) {
+                        existing.remove(operation.getId());
+                        taskTombstoneRepository.save(new TaskTombstone(task.getId(), userId, LocalDateTime.now(clock)));
+                    } else {
+                        created.remove(operation.getRef());
+                    }
+                    eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, TaskSnapshot.of(task)));
+                    results.add(new TaskOperationResultDTO(operation.getOp(), operation.getRef(), task.getId(), null));
+                }
+            }
+        }
+
+        return ResponseEntity.ok(results);
+    }
+
+    // Status e/ou prioridade de várias tasks num único UPDATE filtrado pelo dono.
+    // Por ser um UPDATE em massa, o Hibernate descarta a região "tasks" do cache de segundo nível.
+    @Transactional
+    public ResponseEntity<TaskBulkResultDTO> bulkUpdateTasks(TaskBulkRequest request, Principal principal) {
+
+        if (request.getStatus() == null && request.getPriority() == null) {
+            throw new InvalidRequestException("status or priority is required");
+        }
+
+        Long userId = getUserId(principal);
+        int updated = taskRepository.updateStatusAndPriority(bulkSelection(request, userId),
+                request.getStatus(), request.getPriority(), LocalDateTime.now(clock));
 
-        Task existingTask = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        if (updated > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(userId));
+        }
+        return ResponseEntity.ok(new TaskBulkResultDTO(updated));
+    }
 
-        // Verificar se task pertence ao usuário
-        validateTaskOwnership(existingTask, user);
+    // Remove várias tasks sem trazê-las para a memória: um INSERT ... SELECT dos registros de remoção
+    // (para a sincronização) e um DELETE, os dois com os mesmos critérios e filtrados pelo dono
+    @Transactional
+    public ResponseEntity<TaskBulkResultDTO> bulkDeleteTasks(TaskBulkRequest request, Principal principal) {
 
-        // Atualizar campos
-        existingTask.setStatus(task.getStatus());
-        existingTask.setTitle(task.getTitle());
-        existingTask.setDescription(task.getDescription());
-        existingTask.setDueDate(task.getDueDate());
-        existingTask.setPriority(task.getPriority());
+        Long userId = getUserId(principal);
+        int deleted = taskRepository.deleteWithTombstones(bulkSelection(request, userId), LocalDateTime.now(clock));
+
+        if (deleted > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(userId));
+        }
+        return ResponseEntity.ok(new TaskBulkResultDTO(deleted));
+    }
+
+    @Transactional
+    public ResponseEntity<TaskDTO> updateTask(Task task, Long id, Principal principal) {
 
-        // Save é automático por causa do @Transactional
-        TaskDTO updatedTaskDTO = modelMapper.map(existingTask, TaskDTO.class);
+        Long userId = getUserId(principal);
+
+        // Carregada pela entidade (normalmente do cache de segundo nível) e alterada por dirty
+        // checking: o commit invalida só a entrada desta task. Um UPDATE em HQL descartaria
+        // a região "tasks" inteira a cada PUT.
+        Task existing = taskRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> taskNotAccessible(id, userId));
+        TaskSnapshot previous = TaskSnapshot.of(existing);
+        existing.setTitle(task.getTitle());
+        existing.setDescription(task.getDescription());
+        existing.setDueDate(task.getDueDate());
+        existing.setPriority(task.getPriority());
+        existing.setStatus(task.getStatus());
+
+        TaskDTO updatedTaskDTO = taskMapper.toDto(existing);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(userId, previous, updatedTaskDTO));
 
         return ResponseEntity.ok(updatedTaskDTO);
     }
 
+    // Atualização parcial (JSON Merge Patch): carrega a task já filtrando pelo dono e altera só os
+    // campos enviados; no commit o UPDATE leva apenas as colunas que mudaram (@DynamicUpdate)
     @Transactional
-    public ResponseEntity<Void> deleteTask(Long id, Principal principal) {
+    public ResponseEntity<TaskDTO> patchTask(Long id, JsonNode patch, Principal principal) {
 
-        User user = getUserByEmail(principal.getName());
+        Long userId = getUserId(principal);
+        Task task = taskRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> taskNotAccessible(id, userId));
+        TaskSnapshot previous = TaskSnapshot.of(task);
 
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        boolean changed = taskMergePatch.apply(task, patch);
+
+        TaskDTO taskDTO = taskMapper.toDto(task);
+        // Patch sem mudança real: nenhum UPDATE é emitido e os caches continuam válidos
+        if (changed) {
+            eventPublisher.publishEvent(TaskChangedEvent.updated(userId, previous, taskDTO));
+        }
 
-        // Verificar se task pertence ao usuário
-        validateTaskOwnership(task, user);
+        return ResponseEntity.ok(taskDTO);
+    }
+
+    @Transactional
+    public ResponseEntity<Void> deleteTask(Long id, Principal principal) {
 
+        Long userId = getUserId(principal);
+
+        // Remoção pela entidade, pelo mesmo motivo do updateTask: só a entrada desta task sai do cache
+        Task task = taskRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> taskNotAccessible(id, userId));
         taskRepository.delete(task);
+        // Mesma transação do DELETE: a remoção nunca fica sem registro para a sincronização
+        taskTombstoneRepository.save(new TaskTombstone(id, userId, LocalDateTime.now(clock)));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, TaskSnapshot.of(task)));
 
         return ResponseEntity.noContent().build();
     }
 
     // MÉTODOS AUXILIARES PRIVADOS
 
+    // private + no-cache: o navegador guarda a resposta, mas sempre revalida com If-None-Match
+    private static ResponseEntity.BodyBuilder revalidated(String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    // Conteúdo lido da réplica (ReplicaReads) pode estar atrasado: vai sem ETag e sem ser guardado,
+    // para o navegador não receber 304 depois para uma versão que não corresponde ao que tem
+    private static ResponseEntity.BodyBuilder revalidated(String etag, boolean fromReplica) {
+        return fromReplica
+                ? ResponseEntity.ok().cacheControl(CacheControl.noStore())
+                : revalidated(etag);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
+
+    private static void validateFilter(TaskFilter filter) {
+        if (filter.getDueFrom() != null && filter.getDueTo() != null
+                && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new InvalidRequestException("dueFrom must not be after dueTo");
+        }
+    }
+
+    // Tasks do usuário escolhidas por ids ou por filtro (exatamente um dos dois)
+    private static Specification<Task> bulkSelection(TaskBulkRequest request, Long userId) {
+        List<Long> ids = request.getIds();
+        TaskFilter filter = request.getFilter();
+
+        if ((ids == null) == (filter == null)) {
+            throw new InvalidRequestException("Either ids or filter is required");
+        }
+        if (ids != null) {
+            if (ids.isEmpty() || ids.size() > BULK_MAX_IDS) {
+                throw new InvalidRequestException("ids must have between 1 and " + BULK_MAX_IDS + " elements");
+            }
+            return TaskSpecifications.ownedIds(userId, ids);
+        }
+        validateFilter(filter);
+        return TaskSpecifications.search(userId, filter);
+    }
+
+    // Tasks existentes citadas no lote, num único SELECT; id ausente segue a regra do PUT/DELETE (404 ou 403)
+    private Map<Long, Task> loadOwnedTasks(List<TaskOperation> operations, Long userId) {
+        List<Long> ids = operations.stream()
+                .map(TaskOperation::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<Long, Task> tasks = new HashMap<>();
+        taskRepository.findByUserIdAndIdIn(userId, ids).forEach(task -> tasks.put(task.getId(), task));
+        for (Long id : ids) {
+            if (!tasks.containsKey(id)) {
+                throw taskNotAccessible(id, userId);
+            }
+        }
+        return tasks;
+    }
+
+    // Alvo de UPDATE/DELETE: task existente (id) ou criada antes no lote (ref); já removida no lote é erro
+    private static Task operationTarget(TaskOperation operation, int index,
+                                        Map<Long, Task> existing, Map<String, Task> created) {
+        Task task = operation.getId() != null
+                ? existing.get(operation.getId())
+                : created.get(operation.getRef());
+        if (task == null) {
+            throw new InvalidRequestException("operations[" + index + "]: task was deleted earlier in the batch");
+        }
+        return task;
+    }
+
+    // Id do usuário autenticado: vem do token (AuthenticatedUser) sem ir ao banco;
+    // para outros tipos de Principal, resolve pelo email
+    private Long getUserId(Principal principal) {
+        return AuthenticatedUser.from(principal)
+                .map(AuthenticatedUser::getId)
+                .orElseGet(() -> getUserByEmail(principal.getName()).getId());
+    }
+
+    // Dono da nova task: com o id vindo do token basta uma referência (proxy), sem SELECT do usuário
+    private User getUser(Principal principal) {
+        return AuthenticatedUser.from(principal)
+                .map(user -> userRepository.getReferenceById(user.getId()))
+                .orElseGet(() -> getUserByEmail(principal.getName()));
+    }
 
     private User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
     }
 
-    private void validateTaskOwnership(Task task, User user) {
-        if (!task.getUser().getId().equals(user.getId())) {
-            log.warn("Usuário {} tentou acessar task {} que pertence ao usuário {}",
-                    user.getEmail(), task.getId(), task.getUser().getEmail());
-            throw new UnauthorizedAccessException(
-                    "You don't have permission to access this task. It belongs to another user.");
+    // Chamado só quando a busca filtrada por dono não encontrou nada:
+    // distingue "não existe" (404) de "pertence a outro usuário" (403)
+    private RuntimeException taskNotAccessible(Long id, Long userId) {
+        if (!taskRepository.existsById(id)) {
+            return new ResourceNotFoundException("Task", "id", id);
+        }
+        log.warn("Usuário {} tentou acessar task {} que pertence a outro usuário", userId, id);
+        return new UnauthorizedAccessException(
+                "You don't have permission to access this task. It belongs to another user.");
+    }
+
+    // Instante da última sincronização, serializado como token opaco
+    record ChangesCursor(LocalDateTime at) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(at.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ChangesCursor decode(String cursor) {
+            try {
+                return new ChangesCursor(LocalDateTime.parse(
+                        new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+            } catch (IllegalArgumentException | DateTimeParseException ex) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+    }
+
+    // Posição (createdAt, id) da última task de uma página, serializada como token opaco
+    record TaskCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TaskCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("missing separator");
+                }
+                return new TaskCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.valueOf(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException ex) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+    }
+
+    // Resultado compartilhado pelo TaskReadCoalescer: quem esperou sabe se a carga veio da réplica
+    private record Loaded<T>(T body, boolean fromReplica) {
+
+        static <T> Loaded<T> of(T body) {
+            return new Loaded<>(body, ReplicaReads.inCurrentTransaction());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,189 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskCount;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskStatsDTO;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Contadores de tasks por usuário para GET /tasks/stats.
+ *
+ * Na primeira leitura de um usuário os contadores por status e prioridade saem de um único
+ * GROUP BY, as atrasadas de um COUNT, e as que vencem ainda hoje dos vencimentos do dia (só esses
+ * ficam em memória, não um registro por task). Depois são mantidos pelos TaskChangedEvent
+ * publicados pelo TaskService após o commit, sem voltar ao banco: a alteração ou remoção traz o
+ * estado anterior da task, que sai dos contadores antes de o novo entrar.
+ *
+ * As que vencem hoje passam para "atrasadas" na leitura, conforme a hora avança. Na virada do dia
+ * os vencimentos do novo dia não estão em memória, então o usuário é recontado uma vez.
+ */
+@Component
+@Slf4j
+public class TaskStatsTracker {
+
+    private final TaskRepository taskRepository;
+    private final Clock clock;
+    private final Cache<Long, UserStats> stats;
+
+    public TaskStatsTracker(TaskRepository taskRepository,
+                            MeterRegistry meterRegistry,
+                            Clock clock,
+                            @Value("${task-stats.cache.max-users:10000}") long maxUsers,
+                            @Value("${task-stats.cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.taskRepository = taskRepository;
+        this.clock = clock;
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, stats, "task.stats");
+    }
+
+    public TaskStatsDTO getStats(Long userId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        UserStats userStats = stats.get(userId, id -> load(id, now));
+        if (!userStats.covers(now)) {
+            userStats = stats.asMap().compute(userId, (id, current) ->
+                    current != null && current.covers(now) ? current : load(id, now));
+        }
+        return userStats.toDto(now);
+    }
+
+    // Mesmo esquema do TaskSearchIndex: só atualiza usuários já carregados
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.BULK) {
+            // Recontadas na próxima consulta
+            stats.invalidate(event.userId());
+            return;
+        }
+        stats.asMap().computeIfPresent(event.userId(), (userId, userStats) -> {
+            if (event.previous() != null) {
+                userStats.add(event.previous(), -1);
+            }
+            if (event.task() != null) {
+                userStats.add(TaskSnapshot.of(event.task()), 1);
+            }
+            return userStats;
+        });
+    }
+
+    private UserStats load(Long userId, LocalDateTime now) {
+        LocalDateTime startOfTomorrow = now.toLocalDate().plusDays(1).atStartOfDay();
+
+        UserStats userStats = new UserStats(now, startOfTomorrow);
+        taskRepository.countByStatusAndPriority(userId).forEach(userStats::add);
+        userStats.addOverdue(taskRepository.countOpenDueBefore(userId, now));
+        taskRepository.findOpenDueDatesBetween(userId, now, startOfTomorrow).forEach(userStats::addDueToday);
+
+        log.debug("Estatísticas do usuário {} montadas até {}", userId, startOfTomorrow);
+        return userStats;
+    }
+
+    static final class UserStats {
+
+        private final EnumMap<Status, Long> byStatus = zeros(Status.class);
+        private final EnumMap<Priority, Long> byPriority = zeros(Priority.class);
+        private long total;
+
+        // Vencimentos de hoje (>= horizon) das tasks em aberto -> quantidade de tasks com esse vencimento
+        private final TreeMap<LocalDateTime, Integer> dueToday = new TreeMap<>();
+        private long overdue;
+
+        // Até onde os vencimentos já foram contados como atrasados; só avança
+        private LocalDateTime horizon;
+
+        // Vencimentos a partir daqui (amanhã em diante) não são acompanhados
+        private final LocalDateTime endOfDay;
+
+        UserStats(LocalDateTime now, LocalDateTime endOfDay) {
+            this.horizon = now;
+            this.endOfDay = endOfDay;
+        }
+
+        boolean covers(LocalDateTime now) {
+            return now.isBefore(endOfDay);
+        }
+
+        // Linha do GROUP BY da carga
+        synchronized void add(TaskCount count) {
+            addCounters(count.status(), count.priority(), count.count());
+        }
+
+        synchronized void addOverdue(long count) {
+            overdue += count;
+        }
+
+        synchronized void addDueToday(LocalDateTime dueDate) {
+            dueToday.merge(dueDate, 1, Integer::sum);
+        }
+
+        // Task entrando (delta 1) ou saindo (delta -1) dos contadores
+        synchronized void add(TaskSnapshot task, int delta) {
+            addCounters(task.status(), task.priority(), delta);
+
+            if (!task.isOpen() || task.dueDate() == null) {
+                return;
+            }
+            if (task.dueDate().isBefore(horizon)) {
+                overdue += delta;
+            } else if (task.dueDate().isBefore(endOfDay)) {
+                dueToday.merge(task.dueDate(), delta, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        synchronized TaskStatsDTO toDto(LocalDateTime now) {
+            // Vencimentos que ficaram para trás passam para "atrasadas": cada um é movido uma única vez
+            if (now.isAfter(horizon)) {
+                horizon = now;
+                while (!dueToday.isEmpty() && dueToday.firstKey().isBefore(now)) {
+                    overdue += dueToday.pollFirstEntry().getValue();
+                }
+            }
+
+            long dueTodayCount = 0;
+            for (int count : dueToday.values()) {
+                dueTodayCount += count;
+            }
+
+            return new TaskStatsDTO(total, new EnumMap<>(byStatus), new EnumMap<>(byPriority), overdue, dueTodayCount);
+        }
+
+        private void addCounters(Status status, Priority priority, long delta) {
+            total += delta;
+            // Status nulo conta como PENDING, o padrão do @PrePersist
+            byStatus.merge(status != null ? status : Status.PENDING, delta, Long::sum);
+            if (priority != null) {
+                byPriority.merge(priority, delta, Long::sum);
+            }
+        }
+
+        private static <E extends Enum<E>> EnumMap<E, Long> zeros(Class<E> type) {
+            EnumMap<E, Long> map = new EnumMap<>(type);
+            for (E value : type.getEnumConstants()) {
+                map.put(value, 0L);
+            }
+            return map;
+        }
+    }
+}
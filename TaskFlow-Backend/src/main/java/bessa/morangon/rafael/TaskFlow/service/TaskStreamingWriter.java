@@ -0,0 +1,188 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskExportFormat;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.TaskMapper;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Escreve as tasks de um usuário direto na resposta, linha a linha do cursor do banco,
+ * sem montar a lista em memória: o uso de heap não depende de quantas tasks o usuário tem.
+ *
+ * O corpo roda na thread async do Spring MVC, fora da transação da requisição, por isso
+ * abre a sua própria transação (somente leitura) enquanto o cursor estiver aberto.
+ *
+ * A exportação (CSV/NDJSON) não mantém cursor aberto: lê blocos de EXPORT_CHUNK_SIZE tasks
+ * pela paginação keyset, cada bloco numa transação curta, e escreve o bloco já sem conexão
+ * com o banco. Um cliente lento segura a thread, mas não uma conexão do pool. Os blocos não
+ * passam pelo cache de segundo nível (CacheMode.IGNORE): exportar uma conta grande não tira da
+ * região "tasks" as entradas quentes dos outros usuários.
+ */
+@Component
+public class TaskStreamingWriter {
+
+    static final int EXPORT_CHUNK_SIZE = 1000;
+
+    static final String CSV_HEADER = "id,title,description,dueDate,priority,status,createdAt,updatedAt";
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionOperations readOnlyTransaction;
+
+    @Autowired
+    public TaskStreamingWriter(TaskRepository taskRepository,
+                               TaskMapper taskMapper,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this(taskRepository, taskMapper, objectMapper, readOnly(transactionManager));
+    }
+
+    TaskStreamingWriter(TaskRepository taskRepository,
+                        TaskMapper taskMapper,
+                        ObjectMapper objectMapper,
+                        TransactionOperations readOnlyTransaction) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = readOnlyTransaction;
+    }
+
+    // Mesmo JSON do GET /tasks (array de TaskDTO, mais recentes primeiro), gerado item a item
+    public StreamingResponseBody jsonArray(Long userId) {
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskDTO> tasks = taskRepository.streamDtosByUserId(userId);
+                 JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+
+                // Quem fecha a resposta é o Spring MVC
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                for (Iterator<TaskDTO> it = tasks.iterator(); it.hasNext(); ) {
+                    generator.writeObject(it.next());
+                }
+                generator.writeEndArray();
+            } catch (IOException ex) {
+                // Cliente desconectou no meio do envio: encerra o cursor e a transação
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    // Todas as tasks do usuário (mais recentes primeiro) em CSV ou NDJSON, opcionalmente em gzip
+    public StreamingResponseBody export(Long userId, TaskExportFormat format, boolean gzip) {
+        return outputStream -> {
+            // syncFlush: cada bloco escrito já sai comprimido para o cliente
+            GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, 8192, true) : null;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    gzipStream != null ? gzipStream : outputStream, StandardCharsets.UTF_8));
+
+            if (format == TaskExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            Limit chunkSize = Limit.of(EXPORT_CHUNK_SIZE);
+            List<Task> chunk = readOnlyTransaction.execute(status -> {
+                ignoreSecondLevelCache();
+                return taskRepository.findFirstKeysetPage(userId, chunkSize);
+            });
+            while (!chunk.isEmpty()) {
+                for (Task task : chunk) {
+                    if (format == TaskExportFormat.CSV) {
+                        writeCsvLine(writer, task);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(taskMapper.toDto(task)));
+                        writer.write('\n');
+                    }
+                }
+                writer.flush();
+
+                if (chunk.size() < EXPORT_CHUNK_SIZE) {
+                    break;
+                }
+                Task last = chunk.get(chunk.size() - 1);
+                chunk = readOnlyTransaction.execute(status -> {
+                    ignoreSecondLevelCache();
+                    return taskRepository.findKeysetPageAfter(userId, last.getCreatedAt(), last.getId(), chunkSize);
+                });
+            }
+
+            writer.flush();
+            if (gzipStream != null) {
+                // Fecha o gzip sem fechar a resposta (quem fecha é o Spring MVC)
+                gzipStream.finish();
+            }
+        };
+    }
+
+    private static void writeCsvLine(Writer writer, Task task) throws IOException {
+        writer.write(String.valueOf(task.getId()));
+        writer.write(',');
+        writer.write(csvField(task.getTitle()));
+        writer.write(',');
+        writer.write(csvField(task.getDescription()));
+        writer.write(',');
+        writer.write(csvField(task.getDueDate()));
+        writer.write(',');
+        writer.write(csvField(task.getPriority()));
+        writer.write(',');
+        writer.write(csvField(task.getStatus()));
+        writer.write(',');
+        writer.write(csvField(task.getCreatedAt()));
+        writer.write(',');
+        writer.write(csvField(task.getUpdatedAt()));
+        writer.write('\n');
+    }
+
+    // RFC 4180: aspas quando há vírgula, aspas ou quebra de linha. Texto que começa com
+    // = + - @ ganha um apóstrofo para não virar fórmula ao abrir a planilha.
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    // Como em ReplicaReads: a Session da transação atual não lê nem grava no cache de segundo nível
+    private static void ignoreSecondLevelCache() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            }
+        }
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
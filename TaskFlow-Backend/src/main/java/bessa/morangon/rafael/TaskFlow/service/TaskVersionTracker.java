@@ -0,0 +1,76 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão das tasks de cada usuário, usada como ETag nas leituras (GET /tasks, /tasks/paged, /tasks/{id}).
+ *
+ * Toda versão vem de um contador global que só cresce, inclusive a de um usuário que acabou de
+ * entrar no cache (ou que tinha sido removido dele): assim uma ETag nunca se repete com conteúdo
+ * diferente. O prefixo com o instante de inicialização separa as versões entre reinícios.
+ *
+ * A versão é incrementada após o commit de cada alteração; quem lê pega a versão antes de ir
+ * ao banco, então no pior caso o cliente recebe dados novos com a ETag antiga e só refaz a busca.
+ */
+@Component
+public class TaskVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<Long, Long> versions;
+
+    public TaskVersionTracker(MeterRegistry meterRegistry,
+                              @Value("${task-versions.cache.max-users:10000}") long maxUsers,
+                              @Value("${task-versions.cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "task.versions");
+    }
+
+    // ETag forte ("epoch-versao") das tasks do usuário
+    public String etag(Long userId) {
+        long version = versions.get(userId, id -> sequence.incrementAndGet());
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    // Usuário fora do cache não precisa de incremento: a próxima leitura já recebe uma versão nova
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        versions.asMap().computeIfPresent(event.userId(), (userId, version) -> sequence.incrementAndGet());
+    }
+
+    // Comparação fraca do If-None-Match (RFC 9110): aceita lista de ETags, "*" e o prefixo W/
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,12 +3,13 @@ package bessa.morangon.rafael.TaskFlow.service;
 
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.ResourceNotFoundException;
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.UserAlreadyExistsException;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.UserDetailsCache;
 import bessa.morangon.rafael.TaskFlow.domain.dto.UserDTO;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.UserMapper;
 import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,21 +28,25 @@ import java.util.Optional;
 public class UserService {
 
     private UserRepository userRepository;
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
     private PasswordEncoder passwordEncoder;
+    private UserDetailsCache userDetailsCache;
+    private CacheInvalidationLog cacheInvalidationLog;
 
+    @Transactional(readOnly = true)
     public ResponseEntity<UserDTO> getById(Long id) {
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
-        return ResponseEntity.ok(modelMapper.map(user, UserDTO.class));
+        return ResponseEntity.ok(userMapper.toDto(user));
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<Page<UserDTO>> getAllUsers(Pageable pageable) {
 
         Page<User> users = userRepository.findAll(pageable);
-        return ResponseEntity.ok(users.map(user -> modelMapper.map(user, UserDTO.class)));
+        return ResponseEntity.ok(users.map(userMapper::toDto));
     }
 
     @Transactional
@@ -57,7 +62,7 @@ public class UserService {
             URI uri = uriComponentsBuilder.path("/users/{id}")
                     .buildAndExpand(savedUser.getId())
                     .toUri();
-            return ResponseEntity.created(uri).body(modelMapper.map(savedUser, UserDTO.class));
+            return ResponseEntity.created(uri).body(userMapper.toDto(savedUser));
 
         } catch (DataIntegrityViolationException ex) {
             log.error("Erro de integridade de dados ao criar usuário: {}", ex.getMessage());
@@ -79,6 +84,13 @@ public class UserService {
             }
         }
 
+        // Email antigo e novo saem do cache de autenticação (senha/email podem ter mudado)
+        userDetailsCache.invalidate(existingUser.getEmail());
+        userDetailsCache.invalidate(user.getEmail());
+        // Idem nos outros nós
+        cacheInvalidationLog.userChanged(id, existingUser.getEmail());
+        cacheInvalidationLog.userChanged(id, user.getEmail());
+
         try {
 
             existingUser.setAge(user.getAge());
@@ -92,7 +104,7 @@ public class UserService {
             // Save é automático por causa do @Transactional
             log.info("Usuário atualizado com sucesso: ID {}", id);
 
-            return ResponseEntity.ok(modelMapper.map(existingUser, UserDTO.class));
+            return ResponseEntity.ok(userMapper.toDto(existingUser));
 
         } catch (DataIntegrityViolationException ex) {
             log.error("Erro de integridade de dados ao atualizar usuário {}: {}", id, ex.getMessage());
@@ -107,6 +119,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
         userRepository.delete(user);
+        userDetailsCache.invalidate(user.getEmail());
+        cacheInvalidationLog.userChanged(id, user.getEmail());
         return ResponseEntity.noContent().build();
     }
 
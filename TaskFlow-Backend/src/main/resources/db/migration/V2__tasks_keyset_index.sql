@@ -0,0 +1,6 @@
+-- Índice para a paginação por cursor (keyset) em GET /tasks/cursor:
+-- cobre o filtro por usuário e a ordenação (created_at DESC, id DESC)
+CREATE INDEX IDX_tasks_user_created_id ON tasks(user_id, created_at DESC, id DESC);
+
+-- O índice antigo só por user_id é prefixo do novo e passa a ser redundante
+DROP INDEX IDX_tasks_user_id ON tasks;
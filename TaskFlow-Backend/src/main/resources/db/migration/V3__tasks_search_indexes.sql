@@ -0,0 +1,13 @@
+-- Índices para GET /tasks/search: todo filtro começa pelo dono (user_id)
+
+-- Status + intervalo de vencimento (filtro mais comum da tela de tasks)
+CREATE INDEX IDX_tasks_user_status_due ON tasks(user_id, status, due_date);
+
+-- Prioridade + intervalo de vencimento
+CREATE INDEX IDX_tasks_user_priority_due ON tasks(user_id, priority, due_date);
+
+-- Só intervalo de vencimento / ordenação por vencimento
+CREATE INDEX IDX_tasks_user_due ON tasks(user_id, due_date);
+
+-- Status sozinho não é seletivo e toda consulta filtra por usuário: substituído pelos índices acima
+DROP INDEX IDX_tasks_status ON tasks;
@@ -0,0 +1,18 @@
+-- Sincronização incremental (GET /tasks/changes)
+
+-- Tasks alteradas desde um instante, por usuário
+CREATE INDEX IDX_tasks_user_updated ON tasks(user_id, updated_at);
+
+-- Tasks removidas: só ids, sem FK (a task já não existe); apagadas após o período de retenção
+CREATE TABLE task_tombstones (
+    id BIGINT IDENTITY(1,1) NOT NULL,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    deleted_at DATETIME2 NOT NULL,
+    CONSTRAINT PK_task_tombstones PRIMARY KEY (id)
+);
+
+CREATE INDEX IDX_task_tombstones_user_deleted ON task_tombstones(user_id, deleted_at);
+
+-- Limpeza por data
+CREATE INDEX IDX_task_tombstones_deleted ON task_tombstones(deleted_at);
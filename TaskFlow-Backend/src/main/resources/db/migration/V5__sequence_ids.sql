@@ -0,0 +1,92 @@
+-- Ids de users, tasks e task_tombstones passam a vir de sequences em vez de IDENTITY.
+-- Com IDENTITY o Hibernate só conhece o id depois do INSERT e por isso desliga o batch de inserts;
+-- com sequence + otimizador pooled (allocationSize = 50) ele reserva 50 ids por ida ao banco.
+--
+-- O SQL Server não remove IDENTITY de uma coluna existente: as tabelas são recriadas
+-- e os dados copiados, mantendo os ids.
+
+-- 1. Sequences começando depois dos ids existentes.
+-- O pooled trata o valor lido como o topo de um bloco (valor - 49 .. valor),
+-- então o primeiro valor precisa ser MAX(id) + 50.
+BEGIN
+    DECLARE @sql NVARCHAR(MAX);
+
+    SELECT @sql = N'CREATE SEQUENCE users_seq AS BIGINT START WITH '
+        + CAST(ISNULL(MAX(id), 0) + 50 AS NVARCHAR(20)) + N' INCREMENT BY 50' FROM users;
+    EXEC sp_executesql @sql;
+
+    SELECT @sql = N'CREATE SEQUENCE tasks_seq AS BIGINT START WITH '
+        + CAST(ISNULL(MAX(id), 0) + 50 AS NVARCHAR(20)) + N' INCREMENT BY 50' FROM tasks;
+    EXEC sp_executesql @sql;
+
+    SELECT @sql = N'CREATE SEQUENCE task_tombstones_seq AS BIGINT START WITH '
+        + CAST(ISNULL(MAX(id), 0) + 50 AS NVARCHAR(20)) + N' INCREMENT BY 50' FROM task_tombstones;
+    EXEC sp_executesql @sql;
+END;
+
+-- 2. users (a FK de tasks é recriada no passo 3)
+ALTER TABLE tasks DROP CONSTRAINT FK_tasks_user;
+
+CREATE TABLE users_new (
+    id BIGINT NOT NULL,
+    full_name NVARCHAR(255) NOT NULL,
+    age INT NULL,
+    email NVARCHAR(255) NOT NULL,
+    password NVARCHAR(255) NOT NULL
+);
+
+INSERT INTO users_new (id, full_name, age, email, password)
+SELECT id, full_name, age, email, password FROM users;
+
+DROP TABLE users;
+EXEC sp_rename 'users_new', 'users';
+
+ALTER TABLE users ADD CONSTRAINT PK_users PRIMARY KEY (id);
+ALTER TABLE users ADD CONSTRAINT UK_users_email UNIQUE (email);
+
+-- 3. tasks, com a FK e os índices das migrations anteriores
+CREATE TABLE tasks_new (
+    id BIGINT NOT NULL,
+    title NVARCHAR(255) NOT NULL,
+    description NVARCHAR(MAX) NULL,
+    due_date DATETIME2 NULL,
+    priority NVARCHAR(20) NOT NULL,
+    status NVARCHAR(20) NULL,
+    created_at DATETIME2 NULL,
+    updated_at DATETIME2 NULL,
+    user_id BIGINT NULL
+);
+
+INSERT INTO tasks_new (id, title, description, due_date, priority, status, created_at, updated_at, user_id)
+SELECT id, title, description, due_date, priority, status, created_at, updated_at, user_id FROM tasks;
+
+DROP TABLE tasks;
+EXEC sp_rename 'tasks_new', 'tasks';
+
+ALTER TABLE tasks ADD CONSTRAINT PK_tasks PRIMARY KEY (id);
+ALTER TABLE tasks ADD CONSTRAINT FK_tasks_user FOREIGN KEY (user_id) REFERENCES users(id);
+
+CREATE INDEX IDX_tasks_user_created_id ON tasks(user_id, created_at DESC, id DESC);
+CREATE INDEX IDX_tasks_user_status_due ON tasks(user_id, status, due_date);
+CREATE INDEX IDX_tasks_user_priority_due ON tasks(user_id, priority, due_date);
+CREATE INDEX IDX_tasks_user_due ON tasks(user_id, due_date);
+CREATE INDEX IDX_tasks_user_updated ON tasks(user_id, updated_at);
+
+-- 4. task_tombstones
+CREATE TABLE task_tombstones_new (
+    id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    deleted_at DATETIME2 NOT NULL
+);
+
+INSERT INTO task_tombstones_new (id, task_id, user_id, deleted_at)
+SELECT id, task_id, user_id, deleted_at FROM task_tombstones;
+
+DROP TABLE task_tombstones;
+EXEC sp_rename 'task_tombstones_new', 'task_tombstones';
+
+ALTER TABLE task_tombstones ADD CONSTRAINT PK_task_tombstones PRIMARY KEY (id);
+
+CREATE INDEX IDX_task_tombstones_user_deleted ON task_tombstones(user_id, deleted_at);
+CREATE INDEX IDX_task_tombstones_deleted ON task_tombstones(deleted_at);
@@ -0,0 +1,19 @@
+-- Invalidações de cache entre instâncias (CacheInvalidationLog)
+
+-- Mesmo esquema das demais tabelas: sequence com otimizador pooled (allocationSize = 50)
+CREATE SEQUENCE cache_invalidations_seq AS BIGINT START WITH 50 INCREMENT BY 50;
+
+-- Só inserções; cada nó lê a partir da maior data já vista e os registros são apagados após a retenção
+CREATE TABLE cache_invalidations (
+    id BIGINT NOT NULL,
+    origin NVARCHAR(36) NOT NULL,
+    scope NVARCHAR(20) NOT NULL,
+    user_id BIGINT NULL,
+    task_id BIGINT NULL,
+    email NVARCHAR(255) NULL,
+    created_at DATETIME2 NOT NULL,
+    CONSTRAINT PK_cache_invalidations PRIMARY KEY (id)
+);
+
+-- Leitura incremental e limpeza por data
+CREATE INDEX IDX_cache_invalidations_created ON cache_invalidations(created_at);
@@ -0,0 +1,108 @@
+package bessa.morangon.rafael.TaskFlow.benchmark;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.UserDTO;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.TaskMapper;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.UserMapper;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara o ModelMapper (reflexão, usado antes nos services) com os mappers escritos à mão.
+ *
+ * Rodar com: mvn -Pbenchmark test-compile exec:exec
+ * O profiler "gc" do JMH reporta a alocação por operação (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private TaskMapper taskMapper;
+    private UserMapper userMapper;
+
+    private User user;
+
+    // Lista de tasks com tamanho variável, como em GET /tasks sem paginação
+    @State(Scope.Benchmark)
+    public static class TaskList {
+
+        @Param({"1", "100", "1000"})
+        private int size;
+
+        private List<Task> tasks;
+
+        @Setup
+        public void setUp() {
+            User owner = newUser();
+            tasks = new ArrayList<>(size);
+            for (long i = 1; i <= size; i++) {
+                Task task = new Task();
+                task.setId(i);
+                task.setTitle("Task " + i);
+                task.setDescription("Descrição da task " + i);
+                task.setDueDate(LocalDateTime.now().plusDays(i));
+                task.setPriority(Priority.MEDIUM);
+                task.setStatus(Status.PENDING);
+                task.setCreatedAt(LocalDateTime.now());
+                task.setUpdatedAt(LocalDateTime.now());
+                task.setUser(owner);
+                tasks.add(task);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        taskMapper = new TaskMapper();
+        userMapper = new UserMapper();
+        user = newUser();
+    }
+
+    @Benchmark
+    public List<TaskDTO> taskListModelMapper(TaskList list) {
+        return list.tasks.stream()
+                .map(task -> modelMapper.map(task, TaskDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TaskDTO> taskListHandWritten(TaskList list) {
+        return taskMapper.toDtoList(list.tasks);
+    }
+
+    @Benchmark
+    public UserDTO userModelMapper() {
+        return modelMapper.map(user, UserDTO.class);
+    }
+
+    @Benchmark
+    public UserDTO userHandWritten() {
+        return userMapper.toDto(user);
+    }
+
+    private static User newUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setFullName("Joao Silva");
+        user.setAge(30);
+        user.setEmail("joao@email.com");
+        user.setPassword("$2a$10$hash");
+        return user;
+    }
+}
@@ -68,7 +68,7 @@ class AuthControllerTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(mock(Authentication.class));
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockUser));
-        when(jwtUtil.generateToken(email)).thenReturn(jwtToken);
+        when(jwtUtil.generateToken(email, 1L)).thenReturn(jwtToken);
 
         mockMvc.perform(post("/auth")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -81,7 +81,7 @@ class AuthControllerTest {
 
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository, times(1)).findByEmail(email);
-        verify(jwtUtil, times(1)).generateToken(email);
+        verify(jwtUtil, times(1)).generateToken(email, 1L);
     }
 
     @Test
@@ -104,7 +104,7 @@ class AuthControllerTest {
 
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository, times(1)).findByEmail(email);
-        verify(jwtUtil, never()).generateToken(anyString());
+        verify(jwtUtil, never()).generateToken(anyString(), any());
     }
 
     @Test
@@ -126,6 +126,6 @@ class AuthControllerTest {
 
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository, never()).findByEmail(anyString());
-        verify(jwtUtil, never()).generateToken(anyString());
+        verify(jwtUtil, never()).generateToken(anyString(), any());
     }
 }
@@ -1,12 +1,23 @@
 package bessa.morangon.rafael.TaskFlow.controller;
 
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.GlobalExceptionHandler;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.ResourceNotFoundException;
+import bessa.morangon.rafael.TaskFlow.domain.dto.CursorPage;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkRequest;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskChangesDTO;
 import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskFilter;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperation;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperationResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskStatsDTO;
 import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
 import bessa.morangon.rafael.TaskFlow.domain.model.Status;
 import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.service.TaskMergePatch;
 import bessa.morangon.rafael.TaskFlow.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -22,10 +33,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
@@ -33,6 +49,7 @@ import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -90,43 +107,78 @@ class TaskControllerTest {
     @Test
     @DisplayName("Should return task when valid ID is provided")
     void getTaskById_ShouldReturnTask_WhenValidId() throws Exception {
-        when(taskService.getTaskById(1L, mockPrincipal)).thenReturn(ResponseEntity.ok(taskDTO));
+        when(taskService.getTaskById(1L, null, mockPrincipal)).thenReturn(ResponseEntity.ok(taskDTO));
 
         mockMvc.perform(get("/tasks/1").principal(mockPrincipal))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.title").value("Test Task"));
 
-        verify(taskService, times(1)).getTaskById(1L, mockPrincipal);
+        verify(taskService, times(1)).getTaskById(1L, null, mockPrincipal);
     }
 
     @Test
     @DisplayName("Should return 404 when task not found")
     void getTaskById_ShouldReturn404_WhenTaskNotFound() throws Exception {
-        when(taskService.getTaskById(999L, mockPrincipal))
+        when(taskService.getTaskById(999L, null, mockPrincipal))
                 .thenThrow(new ResourceNotFoundException("Task", "id", 999L));
 
         mockMvc.perform(get("/tasks/999").principal(mockPrincipal))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Task not found with id: '999'"));
 
-        verify(taskService, times(1)).getTaskById(999L, mockPrincipal);
+        verify(taskService, times(1)).getTaskById(999L, null, mockPrincipal);
     }
 
     // ================== GET ALL TASKS (WITHOUT PAGINATION) ==================
     @Test
     @DisplayName("Should return all tasks for user")
     void getAllTasks_ShouldReturnTasks() throws Exception {
-        List<TaskDTO> taskList = Arrays.asList(taskDTO);
-        when(taskService.getAllTasksWithoutPagination(mockPrincipal))
-                .thenReturn(ResponseEntity.ok(taskList));
+        // O service devolve o JSON já serializado (TaskListCache)
+        byte[] json = objectMapper.writeValueAsBytes(List.of(taskDTO));
+        when(taskService.getAllTasksWithoutPagination(null, mockPrincipal))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json));
 
         mockMvc.perform(get("/tasks").principal(mockPrincipal))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].title").value("Test Task"));
 
-        verify(taskService, times(1)).getAllTasksWithoutPagination(mockPrincipal);
+        verify(taskService, times(1)).getAllTasksWithoutPagination(null, mockPrincipal);
+    }
+
+    @Test
+    @DisplayName("Should pass If-None-Match to the service and return 304 without body")
+    void getAllTasks_ShouldReturn304_WhenETagMatches() throws Exception {
+        String etag = "\"e-7\"";
+        when(taskService.getAllTasksWithoutPagination(etag, mockPrincipal))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+
+        mockMvc.perform(get("/tasks").principal(mockPrincipal).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(taskService, times(1)).getAllTasksWithoutPagination(etag, mockPrincipal);
+    }
+
+    @Test
+    @DisplayName("Should stream all tasks when stream=true")
+    void getAllTasks_ShouldStream_WhenRequested() throws Exception {
+        StreamingResponseBody body = outputStream -> outputStream.write("[]".getBytes());
+        when(taskService.streamAllTasks(null, mockPrincipal)).thenReturn(ResponseEntity.ok(body));
+
+        MvcResult result = mockMvc.perform(get("/tasks").param("stream", "true").principal(mockPrincipal))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+
+        verify(taskService, times(1)).streamAllTasks(null, mockPrincipal);
+        verify(taskService, never()).getAllTasksWithoutPagination(any(), any());
     }
 
     // ================== GET ALL TASKS PAGED ==================
@@ -137,7 +189,7 @@ class TaskControllerTest {
         Pageable pageable = PageRequest.of(0, 5);
         Page<TaskDTO> taskPage = new PageImpl<>(Arrays.asList(taskDTO), pageable, 1);
 
-        when(taskService.getAllTasks(any(Pageable.class), eq(mockPrincipal)))
+        when(taskService.getAllTasks(any(Pageable.class), isNull(), eq(mockPrincipal)))
                 .thenReturn(ResponseEntity.ok(taskPage));
 
         mockMvc.perform(get("/tasks/paged")
@@ -150,7 +202,162 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.content[0].id").value(1L))
                 .andExpect(jsonPath("$.content[0].title").value("Test Task"));
 
-        verify(taskService, times(1)).getAllTasks(any(Pageable.class), eq(mockPrincipal));
+        verify(taskService, times(1)).getAllTasks(any(Pageable.class), isNull(), eq(mockPrincipal));
+    }
+
+    // ================== GET ALL TASKS BY CURSOR ==================
+    @Test
+    @DisplayName("Should return cursor page with next cursor")
+    void getAllTasksByCursor_ShouldReturnCursorPage() throws Exception {
+        CursorPage<TaskDTO> page = new CursorPage<>(List.of(taskDTO), "next-token", true);
+
+        when(taskService.getTasksByCursor("abc", 5, mockPrincipal)).thenReturn(ResponseEntity.ok(page));
+
+        mockMvc.perform(get("/tasks/cursor")
+                        .principal(mockPrincipal)
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(taskService, times(1)).getTasksByCursor("abc", 5, mockPrincipal);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when cursor is invalid")
+    void getAllTasksByCursor_ShouldReturnBadRequest_WhenCursorInvalid() throws Exception {
+        when(taskService.getTasksByCursor("broken", 20, mockPrincipal))
+                .thenThrow(new InvalidRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/tasks/cursor")
+                        .principal(mockPrincipal)
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, times(1)).getTasksByCursor("broken", 20, mockPrincipal);
+    }
+
+    // ================== SEARCH TASKS ==================
+    @Test
+    @DisplayName("Should bind search filters and pageable")
+    void searchTasks_ShouldBindFiltersAndPageable() throws Exception {
+        Page<TaskDTO> page = new PageImpl<>(List.of(taskDTO), PageRequest.of(0, 10), 1);
+        TaskFilter expectedFilter = new TaskFilter(Status.PENDING, Priority.HIGH,
+                LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 31, 23, 59, 59), "test");
+
+        when(taskService.searchTasks(eq(expectedFilter), any(Pageable.class), eq(mockPrincipal)))
+                .thenReturn(ResponseEntity.ok(page));
+
+        mockMvc.perform(get("/tasks/search")
+                        .principal(mockPrincipal)
+                        .param("status", "PENDING")
+                        .param("priority", "HIGH")
+                        .param("dueFrom", "2030-01-01T00:00:00")
+                        .param("dueTo", "2030-01-31T23:59:59")
+                        .param("q", "test")
+                        .param("size", "10")
+                        .param("sort", "dueDate,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L));
+
+        verify(taskService).searchTasks(eq(expectedFilter),
+                argThat(p -> p.getPageSize() == 10 && p.getSort().getOrderFor("dueDate").isAscending()),
+                eq(mockPrincipal));
+    }
+
+    // ================== SEARCH TASK IDS ==================
+    @Test
+    @DisplayName("Should return ranked task ids for text query")
+    void searchTaskIds_ShouldReturnRankedIds() throws Exception {
+        when(taskService.searchTaskIds("relatorio", 5, mockPrincipal)).thenReturn(ResponseEntity.ok(List.of(3L, 1L)));
+
+        mockMvc.perform(get("/tasks/search/ids")
+                        .principal(mockPrincipal)
+                        .param("q", "relatorio")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(3))
+                .andExpect(jsonPath("$[1]").value(1));
+
+        verify(taskService, times(1)).searchTaskIds("relatorio", 5, mockPrincipal);
+    }
+
+    // ================== TASK STATS ==================
+    @Test
+    @DisplayName("Should return task stats")
+    void getTaskStats_ShouldReturnStats() throws Exception {
+        TaskStatsDTO stats = new TaskStatsDTO(5, Map.of(Status.PENDING, 4L, Status.DONE, 1L),
+                Map.of(Priority.HIGH, 5L), 2, 1);
+        when(taskService.getTaskStats(mockPrincipal)).thenReturn(ResponseEntity.ok(stats));
+
+        mockMvc.perform(get("/tasks/stats").principal(mockPrincipal))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.byStatus.PENDING").value(4))
+                .andExpect(jsonPath("$.overdue").value(2))
+                .andExpect(jsonPath("$.dueToday").value(1));
+
+        verify(taskService, times(1)).getTaskStats(mockPrincipal);
+    }
+
+    // ================== TASK CHANGES ==================
+    @Test
+    @DisplayName("Should return changes since the given cursor")
+    void getTaskChanges_ShouldReturnDelta() throws Exception {
+        TaskChangesDTO changes = new TaskChangesDTO(List.of(taskDTO), List.of(7L), "next", false);
+        when(taskService.getChanges("abc", mockPrincipal)).thenReturn(ResponseEntity.ok(changes));
+
+        mockMvc.perform(get("/tasks/changes").param("since", "abc").principal(mockPrincipal))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted[0].id").value(1L))
+                .andExpect(jsonPath("$.deleted[0]").value(7L))
+                .andExpect(jsonPath("$.cursor").value("next"))
+                .andExpect(jsonPath("$.reset").value(false));
+
+        verify(taskService, times(1)).getChanges("abc", mockPrincipal);
+    }
+
+    // ================== TASK STREAM ==================
+    @Test
+    @DisplayName("Should open an asynchronous event stream")
+    void streamTaskChanges_ShouldStartAsyncStream() throws Exception {
+        when(taskService.streamTaskChanges(mockPrincipal)).thenReturn(ResponseEntity.ok(new SseEmitter()));
+
+        mockMvc.perform(get("/tasks/stream").principal(mockPrincipal).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(taskService, times(1)).streamTaskChanges(mockPrincipal);
+    }
+
+    // ================== EXPORT ==================
+    @Test
+    @DisplayName("Should export tasks as CSV by default")
+    void exportTasks_ShouldDefaultToCsv() throws Exception {
+        StreamingResponseBody body = outputStream -> outputStream.write("id\n".getBytes());
+        when(taskService.exportTasks("csv", false, mockPrincipal)).thenReturn(ResponseEntity.ok(body));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export").principal(mockPrincipal))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id\n"));
+
+        verify(taskService, times(1)).exportTasks("csv", false, mockPrincipal);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown export format")
+    void exportTasks_ShouldReturn400_WhenFormatIsUnknown() throws Exception {
+        when(taskService.exportTasks("xlsx", true, mockPrincipal))
+                .thenThrow(new InvalidRequestException("format must be one of: csv, ndjson"));
+
+        mockMvc.perform(get("/tasks/export").param("format", "xlsx").param("gzip", "true").principal(mockPrincipal))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("format must be one of: csv, ndjson"));
     }
 
     // ================== CREATE TASK ==================
@@ -175,6 +382,102 @@ class TaskControllerTest {
         verify(taskService, times(1)).createNewTask(any(Task.class), any(UriComponentsBuilder.class), eq(mockPrincipal));
     }
 
+    @Test
+    @DisplayName("Should create tasks in batch and return the ids in order")
+    void createTasks_ShouldReturnIds() throws Exception {
+        when(taskService.createTasks(anyList(), eq(mockPrincipal)))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(List.of(5L, 6L)));
+
+        String json = objectMapper.writeValueAsString(List.of(validTask, validTask));
+
+        mockMvc.perform(post("/tasks/batch")
+                        .principal(mockPrincipal)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0]").value(5L))
+                .andExpect(jsonPath("$[1]").value(6L));
+
+        verify(taskService).createTasks(argThat(tasks -> tasks.size() == 2), eq(mockPrincipal));
+    }
+
+    @Test
+    @DisplayName("Should bulk update tasks and return the affected count")
+    void bulkUpdateTasks_ShouldReturnAffected() throws Exception {
+        when(taskService.bulkUpdateTasks(any(TaskBulkRequest.class), eq(mockPrincipal)))
+                .thenReturn(ResponseEntity.ok(new TaskBulkResultDTO(2)));
+
+        mockMvc.perform(patch("/tasks/bulk")
+                        .principal(mockPrincipal)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2],\"status\":\"DONE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        verify(taskService).bulkUpdateTasks(
+                eq(new TaskBulkRequest(List.of(1L, 2L), null, Status.DONE, null)), eq(mockPrincipal));
+    }
+
+    @Test
+    @DisplayName("Should bulk delete tasks selected by filter")
+    void bulkDeleteTasks_ShouldReturnAffected() throws Exception {
+        when(taskService.bulkDeleteTasks(any(TaskBulkRequest.class), eq(mockPrincipal)))
+                .thenReturn(ResponseEntity.ok(new TaskBulkResultDTO(5)));
+
+        mockMvc.perform(delete("/tasks/bulk")
+                        .principal(mockPrincipal)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"status\":\"DONE\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+
+        verify(taskService).bulkDeleteTasks(argThat(request -> request.getIds() == null
+                && request.getFilter().getStatus() == Status.DONE), eq(mockPrincipal));
+    }
+
+    @Test
+    @DisplayName("Should apply a batch of operations and return per-operation results")
+    void applyOperations_ShouldReturnResults() throws Exception {
+        when(taskService.applyOperations(anyList(), eq(mockPrincipal)))
+                .thenReturn(ResponseEntity.ok(List.of(
+                        new TaskOperationResultDTO(TaskOperation.Type.CREATE, "t1", 9L, taskDTO),
+                        new TaskOperationResultDTO(TaskOperation.Type.DELETE, null, 3L, null))));
+
+        mockMvc.perform(post("/tasks/ops")
+                        .principal(mockPrincipal)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"op":"CREATE","tempId":"t1","task":{"title":"Offline","priority":"LOW"}},
+                                 {"op":"DELETE","id":3}]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tempId").value("t1"))
+                .andExpect(jsonPath("$[0].id").value(9L))
+                .andExpect(jsonPath("$[1].op").value("DELETE"))
+                .andExpect(jsonPath("$[1].task").doesNotExist());
+
+        verify(taskService).applyOperations(argThat(operations -> operations.size() == 2
+                && operations.get(0).getTask().getTitle().equals("Offline")
+                && operations.get(1).getId() == 3L), eq(mockPrincipal));
+    }
+
+    @Test
+    @DisplayName("Should patch a task with a JSON Merge Patch body")
+    void patchTask_ShouldPatchTask() throws Exception {
+        when(taskService.patchTask(eq(1L), any(JsonNode.class), eq(mockPrincipal)))
+                .thenReturn(ResponseEntity.ok(taskDTO));
+
+        mockMvc.perform(patch("/tasks/1")
+                        .principal(mockPrincipal)
+                        .contentType(TaskMergePatch.MEDIA_TYPE)
+                        .content("{\"status\":\"DONE\",\"description\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L));
+
+        verify(taskService).patchTask(eq(1L), argThat(patch -> patch.get("status").asText().equals("DONE")
+                && patch.get("description").isNull()), eq(mockPrincipal));
+    }
+
     // ================== UPDATE TASK ==================
     @Test
     @DisplayName("Should update task successfully")
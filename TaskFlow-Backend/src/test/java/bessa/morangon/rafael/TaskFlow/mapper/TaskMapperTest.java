@@ -0,0 +1,79 @@
+package bessa.morangon.rafael.TaskFlow.mapper;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.TaskMapper;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TaskMapper Tests")
+class TaskMapperTest {
+
+    private final TaskMapper taskMapper = new TaskMapper();
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setFullName("Joao Silva");
+        user.setEmail("joao@email.com");
+
+        task = new Task();
+        task.setId(10L);
+        task.setTitle("Estudar Spring Boot");
+        task.setDescription("Criar testes unitários");
+        task.setDueDate(LocalDateTime.of(2025, 3, 1, 10, 0));
+        task.setPriority(Priority.HIGH);
+        task.setStatus(Status.DONE);
+        task.setUser(user);
+    }
+
+    @Test
+    @DisplayName("Should copy every field of the task")
+    void shouldCopyEveryField() {
+        TaskDTO dto = taskMapper.toDto(task);
+
+        assertThat(dto.getId()).isEqualTo(10L);
+        assertThat(dto.getTitle()).isEqualTo("Estudar Spring Boot");
+        assertThat(dto.getDescription()).isEqualTo("Criar testes unitários");
+        assertThat(dto.getDueDate()).isEqualTo(LocalDateTime.of(2025, 3, 1, 10, 0));
+        assertThat(dto.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(dto.getStatus()).isEqualTo(Status.DONE);
+        assertThat(dto.getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should produce the same result as the previous ModelMapper mapping")
+    void shouldMatchModelMapper() {
+        TaskDTO expected = new ModelMapper().map(task, TaskDTO.class);
+
+        TaskDTO dto = taskMapper.toDto(task);
+
+        assertThat(dto).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should map lists preserving order and return null for null task")
+    void shouldMapListsAndNull() {
+        Task other = new Task();
+        other.setId(11L);
+        other.setTitle("Outra task");
+
+        List<TaskDTO> dtos = taskMapper.toDtoList(List.of(task, other));
+
+        assertThat(dtos).extracting(TaskDTO::getId).containsExactly(10L, 11L);
+        assertThat(taskMapper.toDto(null)).isNull();
+    }
+}
@@ -0,0 +1,38 @@
+package bessa.morangon.rafael.TaskFlow.mapper;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.UserDTO;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.UserMapper;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserMapper Tests")
+class UserMapperTest {
+
+    private final UserMapper userMapper = new UserMapper();
+
+    @Test
+    @DisplayName("Should copy public fields and produce the same result as ModelMapper")
+    void shouldMatchModelMapper() {
+        User user = new User();
+        user.setId(1L);
+        user.setFullName("Joao Silva");
+        user.setAge(30);
+        user.setEmail("joao@email.com");
+        user.setPassword("$2a$10$hash");
+
+        UserDTO dto = userMapper.toDto(user);
+
+        assertThat(dto).isEqualTo(new UserDTO(1L, "Joao Silva", 30, "joao@email.com"));
+        assertThat(dto).isEqualTo(new ModelMapper().map(user, UserDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should return null for null user")
+    void shouldReturnNullForNullUser() {
+        assertThat(userMapper.toDto(null)).isNull();
+    }
+}
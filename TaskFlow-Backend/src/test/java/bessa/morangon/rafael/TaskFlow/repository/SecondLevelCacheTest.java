@@ -0,0 +1,263 @@
+package bessa.morangon.rafael.TaskFlow.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.beans.SecondLevelCacheConfig;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskExportFormat;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.TaskMapper;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskSpecifications;
+import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import bessa.morangon.rafael.TaskFlow.service.TaskStreamingWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache de segundo nível de Task e User: leituras quentes sem SQL e nada desatualizado depois
+ * das alterações. Cada passo roda na sua transação (o cache só é atualizado no commit), então
+ * os dados são apagados ao final de cada teste.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@EntityScan(basePackages = "bessa.morangon.rafael.TaskFlow.domain.model")
+@EnableJpaRepositories(basePackages = "bessa.morangon.rafael.TaskFlow.domain.repository")
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheTest.MeterRegistryConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transaction.executeWithoutResult(status -> {
+            user = new User();
+            user.setFullName("Cache User");
+            user.setAge(30);
+            user.setEmail("cache@example.com");
+            user.setPassword("MyPass123@");
+            userRepository.save(user);
+
+            task = new Task();
+            task.setTitle("Cached Task");
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            task.setPriority(Priority.MEDIUM);
+            task.setUser(user);
+            taskRepository.save(task);
+        });
+        // Task é @DynamicUpdate sem @Version: o insert não popula o cache, a primeira leitura sim
+        transaction.executeWithoutResult(status -> taskRepository.findById(task.getId()));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    @DisplayName("Should serve a task by id and owner from the cache without SQL")
+    void shouldFindTaskWithoutSql() {
+        // When
+        Task owned = transaction.execute(status ->
+                taskRepository.findByIdAndUserId(task.getId(), user.getId()).orElseThrow());
+        boolean otherUser = transaction.execute(status ->
+                taskRepository.findByIdAndUserId(task.getId(), user.getId() + 1).isPresent());
+
+        // Then - dono conferido em memória, pela referência ao usuário
+        assertThat(owned.getTitle()).isEqualTo("Cached Task");
+        assertThat(otherUser).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TASKS_REGION).getHitCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the changed task on updates and deletes through the entity")
+    void shouldInvalidateCacheEntryOnEntityChanges() {
+        // When - alteração por dirty checking, a partir da entrada em cache
+        transaction.executeWithoutResult(status ->
+                taskRepository.findById(task.getId()).orElseThrow().setTitle("Updated Title"));
+        statistics.clear();
+        Task updated = transaction.execute(status -> taskRepository.findById(task.getId()).orElseThrow());
+        Task again = transaction.execute(status -> taskRepository.findById(task.getId()).orElseThrow());
+
+        // Then - um único SELECT recarrega a entrada invalidada; a leitura seguinte já vem do cache
+        assertThat(updated.getTitle()).isEqualTo("Updated Title");
+        assertThat(again.getTitle()).isEqualTo("Updated Title");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // When - remoção pela entidade
+        transaction.executeWithoutResult(status ->
+                taskRepository.delete(taskRepository.findById(task.getId()).orElseThrow()));
+
+        // Then
+        boolean exists = transaction.execute(status -> taskRepository.findById(task.getId()).isPresent());
+        assertThat(exists).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep another user's cached task when a task is replaced (PUT)")
+    void shouldKeepOtherUsersTaskCachedOnPut() {
+        // Given - task de outro usuário já no cache
+        Task otherTask = transaction.execute(status -> {
+            User other = new User();
+            other.setFullName("Other User");
+            other.setAge(30);
+            other.setEmail("other@example.com");
+            other.setPassword("MyPass123@");
+            userRepository.save(other);
+
+            Task created = new Task();
+            created.setTitle("Other Task");
+            created.setDueDate(LocalDateTime.now().plusDays(1));
+            created.setPriority(Priority.LOW);
+            created.setUser(other);
+            return taskRepository.save(created);
+        });
+        transaction.executeWithoutResult(status -> taskRepository.findById(otherTask.getId()));
+
+        // When - mesmo caminho do TaskService.updateTask: carregada com o dono conferido e alterada
+        transaction.executeWithoutResult(status -> {
+            Task owned = taskRepository.findByIdAndUserId(task.getId(), user.getId()).orElseThrow();
+            owned.setTitle("Replaced Title");
+            owned.setStatus(Status.DONE);
+        });
+        statistics.clear();
+        Task other = transaction.execute(status -> taskRepository.findById(otherTask.getId()).orElseThrow());
+        Task replaced = transaction.execute(status -> taskRepository.findById(task.getId()).orElseThrow());
+
+        // Then - só a task alterada volta ao banco (um SELECT); a do outro usuário continua no cache
+        assertThat(other.getTitle()).isEqualTo("Other Task");
+        assertThat(replaced.getTitle()).isEqualTo("Replaced Title");
+        assertThat(replaced.getStatus()).isEqualTo(Status.DONE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TASKS_REGION).getHitCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave the tasks region untouched when exporting")
+    void shouldNotCacheExportedTasks() throws IOException {
+        // Given - além da task que o setUp já deixou no cache, outra ainda fora dele
+        Task uncached = transaction.execute(status -> {
+            Task created = new Task();
+            created.setTitle("Uncached Task");
+            created.setDueDate(LocalDateTime.now().plusDays(2));
+            created.setPriority(Priority.LOW);
+            created.setUser(user);
+            return taskRepository.save(created);
+        });
+        statistics.clear();
+        TaskStreamingWriter writer = new TaskStreamingWriter(taskRepository, new TaskMapper(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), transactionManager);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.export(user.getId(), TaskExportFormat.CSV, false).writeTo(out);
+
+        // Then - as duas exportadas, nenhuma gravada no cache; a entrada que já existia continua lá
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("Cached Task").contains("Uncached Task");
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TASKS_REGION).getPutCount())
+                .isZero();
+        assertThat(entityManagerFactory.getCache().contains(Task.class, uncached.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Task.class, task.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not serve stale tasks after a bulk update")
+    void shouldEvictRegionOnBulkUpdate() {
+        // When - UPDATE em massa (Criteria) descarta a região "tasks"
+        transaction.executeWithoutResult(status -> taskRepository.updateStatusAndPriority(
+                TaskSpecifications.ownedIds(user.getId(), List.of(task.getId())), Status.DONE, null, LocalDateTime.now()));
+        statistics.clear();
+        Task reloaded = transaction.execute(status -> taskRepository.findById(task.getId()).orElseThrow());
+
+        // Then - vem do banco, já com o novo status
+        assertThat(reloaded.getStatus()).isEqualTo(Status.DONE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve a user by e-mail from the natural id cache and follow e-mail changes")
+    void shouldFindUserByEmailWithoutSql() {
+        // When
+        User byEmail = transaction.execute(status -> userRepository.findByEmail("cache@example.com").orElseThrow());
+
+        // Then
+        assertThat(byEmail.getId()).isEqualTo(user.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+
+        // When - troca de e-mail pela entidade (como em UserService.updateUser)
+        transaction.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setEmail("changed@example.com"));
+
+        // Then - o e-mail novo resolve para o mesmo usuário e o antigo não resolve mais
+        List<Boolean> found = transaction.execute(status -> List.of(
+                userRepository.findByEmail("changed@example.com").isPresent(),
+                userRepository.findByEmail("cache@example.com").isPresent()));
+        assertThat(found).containsExactly(true, false);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class MeterRegistryConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
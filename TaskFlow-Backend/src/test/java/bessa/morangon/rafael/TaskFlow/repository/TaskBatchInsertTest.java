@@ -0,0 +1,207 @@
+package bessa.morangon.rafael.TaskFlow.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import bessa.morangon.rafael.TaskFlow.service.TaskBatchWriter;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prova, no nível do JDBC, que os inserts de tasks saem em batch
+ * (hibernate.jdbc.batch_size=20 em application-test.properties).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@EntityScan(basePackages = "bessa.morangon.rafael.TaskFlow.domain.model")
+@EnableJpaRepositories(basePackages = "bessa.morangon.rafael.TaskFlow.domain.repository")
+@DisplayName("Task batch insert Tests")
+class TaskBatchInsertTest {
+
+    private static final int BATCH_SIZE = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private InsertCounter insertCounter;
+
+    private User user;
+
+    private List<Task> newTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Priority.MEDIUM);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            task.setUser(user);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFullName("Batch User");
+        user.setAge(30);
+        user.setEmail("batch@example.com");
+        user.setPassword("MyPass123@");
+        entityManager.persistAndFlush(user);
+        insertCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Should assign ids before flush and send task inserts as JDBC batches")
+    void shouldInsertTasksInJdbcBatches() {
+        // Given
+        int count = 2 * BATCH_SIZE + 5;
+        List<Task> tasks = newTasks(count);
+
+        // When
+        taskRepository.saveAll(tasks);
+
+        // Then - ids vêm da sequence, sem INSERT até o flush
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getId()).isNotNull());
+        assertThat(insertCounter.addBatch).hasValue(0);
+
+        entityManager.flush();
+
+        // Todas as linhas por addBatch, em 3 executeBatch (20 + 20 + 5), nenhum INSERT avulso
+        assertThat(insertCounter.addBatch).hasValue(count);
+        assertThat(insertCounter.executeBatch).hasValue(3);
+        assertThat(insertCounter.executeUpdate).hasValue(0);
+        assertThat(taskRepository.countByUserId(user.getId())).isEqualTo(count);
+    }
+
+    @Test
+    @DisplayName("Should insert a bulk request in JDBC batches and keep the persistence context small")
+    void shouldInsertBulkRequestInJdbcBatches() {
+        // Given - flush/clear alinhado com o batch_size do Hibernate
+        TaskBatchWriter writer = new TaskBatchWriter(entityManager.getEntityManager(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 500, BATCH_SIZE);
+        int count = 2 * BATCH_SIZE + 5;
+        List<Task> tasks = newTasks(count);
+
+        // When
+        List<Long> ids = writer.insertAll(tasks, user);
+
+        // Then - ids na ordem do pedido, 3 executeBatch e nada de INSERT avulso
+        assertThat(ids).hasSize(count).doesNotContainNull().isSorted();
+        assertThat(insertCounter.addBatch).hasValue(count);
+        assertThat(insertCounter.executeBatch).hasValue(3);
+        assertThat(insertCounter.executeUpdate).hasValue(0);
+        // Os blocos já gravados foram descarregados do contexto
+        assertThat(entityManager.getEntityManager().contains(tasks.get(0))).isFalse();
+        assertThat(taskRepository.countByUserId(user.getId())).isEqualTo(count);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class InsertCounterConfig {
+
+        @Bean
+        InsertCounter insertCounter() {
+            return new InsertCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSource(InsertCounter insertCounter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? insertCounter.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // Conta as chamadas JDBC dos PreparedStatement de "insert into tasks"
+    static class InsertCounter {
+
+        final AtomicInteger addBatch = new AtomicInteger();
+        final AtomicInteger executeBatch = new AtomicInteger();
+        final AtomicInteger executeUpdate = new AtomicInteger();
+
+        void reset() {
+            addBatch.set(0);
+            executeBatch.set(0);
+            executeUpdate.set(0);
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return wrap(super.getConnection());
+                }
+            };
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                if (method.equals("prepareStatement") && args[0] instanceof String sql
+                        && sql.toLowerCase().startsWith("insert into tasks")) {
+                    return wrap((PreparedStatement) result);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                switch (method) {
+                    case "addBatch" -> addBatch.incrementAndGet();
+                    case "executeBatch" -> executeBatch.incrementAndGet();
+                    case "executeUpdate" -> executeUpdate.incrementAndGet();
+                    default -> { }
+                }
+                return result;
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(String method, Object[] args, Object result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return afterCall.apply(method.getName(), args, method.invoke(target, args));
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package bessa.morangon.rafael.TaskFlow.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Com @DynamicUpdate, o UPDATE de uma task leva só as colunas alteradas
+ * (SQL capturado por um StatementInspector do Hibernate).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "bessa.morangon.rafael.TaskFlow.repository.TaskDynamicUpdateTest$CapturingInspector")
+@ActiveProfiles("test")
+@EntityScan(basePackages = "bessa.morangon.rafael.TaskFlow.domain.model")
+@EnableJpaRepositories(basePackages = "bessa.morangon.rafael.TaskFlow.domain.repository")
+@DisplayName("Task dynamic update Tests")
+class TaskDynamicUpdateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should update only the changed columns when the status is toggled")
+    void shouldUpdateOnlyChangedColumns() {
+        // Given
+        User user = new User();
+        user.setFullName("Dynamic User");
+        user.setAge(30);
+        user.setEmail("dynamic@example.com");
+        user.setPassword("MyPass123@");
+        entityManager.persist(user);
+
+        Task task = new Task();
+        task.setTitle("Relatório");
+        task.setDescription("Descrição que não deve ser reescrita");
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        task.setPriority(Priority.MEDIUM);
+        task.setUser(user);
+        Long id = entityManager.persistAndFlush(task).getId();
+        entityManager.clear();
+
+        // When
+        Task loaded = entityManager.find(Task.class, id);
+        CapturingInspector.STATEMENTS.clear();
+        loaded.setStatus(Status.DONE);
+        entityManager.flush();
+
+        // Then - status + updatedAt (@PreUpdate), sem title/description/dueDate/priority
+        // (no perfil de teste as colunas têm o nome do campo)
+        List<String> updates = CapturingInspector.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update tasks"))
+                .toList();
+        assertThat(updates).hasSize(1);
+        assertThat(updates.get(0))
+                .isEqualTo("update tasks set status=?,updatedat=? where id=?");
+    }
+
+    // Guarda o SQL de cada statement preparado pelo Hibernate
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
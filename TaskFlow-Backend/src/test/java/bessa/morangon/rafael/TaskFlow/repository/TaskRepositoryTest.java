@@ -1,21 +1,32 @@
 package bessa.morangon.rafael.TaskFlow.repository;
 
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskCount;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskFilter;
 import bessa.morangon.rafael.TaskFlow.domain.model.*;
 import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskSpecifications;
 import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -623,4 +634,363 @@ class TaskRepositoryTest {
         assertThat(updated.getUpdatedAt()).isAfter(originalUpdatedAt); // Muda
         assertThat(updated.getTitle()).isEqualTo("Updated Title");
     }
-}
\ No newline at end of file
+
+    // =====================================================
+    // TESTES - Operações filtradas por dono (id + user_id)
+    // =====================================================
+
+    @Test
+    @Order(16)
+    @DisplayName("Should find task by id only when it belongs to the user")
+    void shouldFindTaskByIdAndUserId() {
+        // Given
+        Task task = entityManager.persistAndFlush(createValidTask(testUser1, "Owned Task"));
+        entityManager.clear();
+
+        // When/Then
+        assertThat(taskRepository.findByIdAndUserId(task.getId(), testUser1.getId())).isPresent();
+        assertThat(taskRepository.findByIdAndUserId(task.getId(), testUser2.getId())).isEmpty();
+        assertThat(taskRepository.findByIdAndUserId(999999L, testUser1.getId())).isEmpty();
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Should page by cursor in (createdAt desc, id desc) order, breaking ties by id")
+    void shouldPageByKeysetCursor() {
+        // Given - 5 tasks do usuário 1, três delas com o mesmo createdAt
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(createValidTask(testUser1, "Keyset " + i));
+        }
+        entityManager.persist(createValidTask(testUser2, "Other user"));
+        entityManager.flush();
+
+        LocalDateTime tie = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Task t SET t.createdAt = :createdAt WHERE t.title IN ('Keyset 2', 'Keyset 3', 'Keyset 4')")
+                .setParameter("createdAt", tie)
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Task t SET t.createdAt = :createdAt WHERE t.title = 'Keyset 1'")
+                .setParameter("createdAt", tie.minusMinutes(1))
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Task t SET t.createdAt = :createdAt WHERE t.title = 'Keyset 5'")
+                .setParameter("createdAt", tie.plusMinutes(1))
+                .executeUpdate();
+        entityManager.clear();
+
+        // When - percorre todas as páginas de 2 em 2
+        List<String> titles = new ArrayList<>();
+        List<Task> page = taskRepository.findFirstKeysetPage(testUser1.getId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(task -> titles.add(task.getTitle()));
+            Task last = page.get(page.size() - 1);
+            page = taskRepository.findKeysetPageAfter(testUser1.getId(), last.getCreatedAt(), last.getId(), Limit.of(2));
+        }
+
+        // Then - mais recente primeiro; empates pelo id decrescente; sem repetições nem tasks de outro usuário
+        assertThat(titles).containsExactly("Keyset 5", "Keyset 4", "Keyset 3", "Keyset 2", "Keyset 1");
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Should list tasks as lean DTOs with a single statement regardless of task count")
+    void shouldListTaskDtosWithSingleStatement() {
+        // Given - usuário 1 com 1 task, usuário 2 com 30
+        entityManager.persist(createValidTask(testUser1, "Only task"));
+        for (int i = 1; i <= 30; i++) {
+            entityManager.persist(createValidTask(testUser2, "Task " + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        try {
+            for (User user : List.of(testUser1, testUser2)) {
+                statistics.clear();
+
+                // When
+                List<TaskDTO> dtos = taskRepository.findDtosByUserId(user.getId());
+                List<Task> entities = taskRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+                entities.forEach(task -> task.getUser().getId());
+
+                // Then - uma query para a projeção e uma para as entidades; nenhum SELECT de usuário
+                assertThat(dtos).isNotEmpty().allSatisfy(dto -> assertThat(dto.getUserId()).isEqualTo(user.getId()));
+                assertThat(entities).hasSameSizeAs(dtos);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+                assertThat(statistics.getEntityLoadCount()).isEqualTo(entities.size());
+                assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+
+                entityManager.clear();
+            }
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Should search tasks combining optional filters, always scoped to the owner")
+    void shouldSearchTasksWithSpecifications() {
+        // Given
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        Task report = createValidTask(testUser1, "Quarterly Report");
+        report.setDescription("Send the 100% final numbers");
+        report.setPriority(Priority.HIGH);
+        report.setDueDate(base.plusDays(2));
+
+        Task groceries = createValidTask(testUser1, "Groceries");
+        groceries.setDescription("Buy milk and REPORT paper");
+        groceries.setPriority(Priority.LOW);
+        groceries.setDueDate(base.plusDays(10));
+
+        Task done = createValidTask(testUser1, "Old report");
+        done.setStatus(Status.DONE);
+        done.setDueDate(base.plusDays(3));
+
+        Task otherUser = createValidTask(testUser2, "Report of another user");
+
+        List.of(report, groceries, done, otherUser).forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+
+        Pageable byDueDate = PageRequest.of(0, 10, Sort.by("dueDate"));
+
+        // When/Then - texto sem diferenciar maiúsculas, no título ou na descrição
+        assertThat(search(new TaskFilter(null, null, null, null, "report"), byDueDate))
+                .containsExactly("Quarterly Report", "Old report", "Groceries");
+
+        // Status + texto
+        assertThat(search(new TaskFilter(Status.PENDING, null, null, null, "report"), byDueDate))
+                .containsExactly("Quarterly Report", "Groceries");
+
+        // Prioridade
+        assertThat(search(new TaskFilter(null, Priority.LOW, null, null, null), byDueDate))
+                .containsExactly("Groceries");
+
+        // Intervalo de vencimento inclusivo
+        assertThat(search(new TaskFilter(null, null, base.plusDays(2), base.plusDays(3), null), byDueDate))
+                .containsExactly("Quarterly Report", "Old report");
+
+        // Curingas do LIKE digitados pelo usuário são literais
+        assertThat(search(new TaskFilter(null, null, null, null, "100%"), byDueDate))
+                .containsExactly("Quarterly Report");
+        assertThat(search(new TaskFilter(null, null, null, null, "%"), byDueDate))
+                .containsExactly("Quarterly Report");
+
+        // Sem filtros: todas do usuário, nunca as de outro
+        Page<Task> all = taskRepository.findAll(
+                TaskSpecifications.search(testUser1.getId(), new TaskFilter()), PageRequest.of(0, 2, Sort.by("dueDate")));
+        assertThat(all.getTotalElements()).isEqualTo(3);
+        assertThat(all.getContent()).hasSize(2);
+    }
+
+    private List<String> search(TaskFilter filter, Pageable pageable) {
+        return taskRepository.findAll(TaskSpecifications.search(testUser1.getId(), filter), pageable)
+                .map(Task::getTitle)
+                .getContent();
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Should count stats for the given user only: by status and priority, and open tasks by due date")
+    void shouldCountStatsByUserId() {
+        // Given - vencimentos em 1, 2 e 5 dias; a concluída vence em 1 dia mas não conta como em aberto
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        Task done = createValidTask(testUser1, "Done task");
+        done.setStatus(Status.DONE);
+        done.setDueDate(base.plusDays(1));
+        Task low = createValidTask(testUser1, "Low task");
+        low.setPriority(Priority.LOW);
+        low.setDueDate(base.plusDays(1));
+        Task pending = createValidTask(testUser1, "Pending task");
+        pending.setDueDate(base.plusDays(2));
+        Task later = createValidTask(testUser1, "Later task");
+        later.setDueDate(base.plusDays(5));
+        Task other = createValidTask(testUser2, "Other user task");
+        other.setDueDate(base.plusDays(1));
+        List.of(done, low, pending, later, other).forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TaskCount> counts = taskRepository.countByStatusAndPriority(testUser1.getId());
+        long openBefore = taskRepository.countOpenDueBefore(testUser1.getId(), base.plusDays(3));
+        List<LocalDateTime> dueDates = taskRepository.findOpenDueDatesBetween(
+                testUser1.getId(), base.plusDays(2), base.plusDays(5));
+
+        // Then - uma linha por combinação (status, prioridade)
+        assertThat(counts).containsExactlyInAnyOrder(
+                new TaskCount(Status.DONE, VALID_PRIORITY, 1L),
+                new TaskCount(VALID_STATUS, Priority.LOW, 1L),
+                new TaskCount(VALID_STATUS, VALID_PRIORITY, 2L));
+        assertThat(openBefore).isEqualTo(2);
+        // Intervalo [from, to): inclui o início e exclui o fim
+        assertThat(dueDates).containsExactly(base.plusDays(2));
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Should find only the user's tasks updated after the given instant, oldest change first")
+    void shouldFindDtosChangedSince() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2025, 3, 10, 12, 0);
+        Task old = entityManager.persist(createValidTask(testUser1, "Old"));
+        Task recent = entityManager.persist(createValidTask(testUser1, "Recent"));
+        Task latest = entityManager.persist(createValidTask(testUser1, "Latest"));
+        Task other = entityManager.persist(createValidTask(testUser2, "Other user"));
+        entityManager.flush();
+
+        // updatedAt é preenchido pelo @PrePersist/@PreUpdate; o UPDATE em massa fixa valores conhecidos
+        setUpdatedAt(old, base.minusHours(1));
+        setUpdatedAt(recent, base.plusMinutes(1));
+        setUpdatedAt(latest, base.plusMinutes(2));
+        setUpdatedAt(other, base.plusMinutes(1));
+        entityManager.clear();
+
+        // When
+        List<TaskDTO> changed = taskRepository.findDtosChangedSince(testUser1.getId(), base);
+
+        // Then
+        assertThat(changed).extracting(TaskDTO::getTitle).containsExactly("Recent", "Latest");
+    }
+
+    private void setUpdatedAt(Task task, LocalDateTime updatedAt) {
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Task t SET t.updatedAt = :updatedAt WHERE t.id = :id")
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", task.getId())
+                .executeUpdate();
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Should stream the user's task DTOs newest first")
+    void shouldStreamDtosByUserId() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(createValidTask(testUser1, "Task " + i));
+        }
+        entityManager.persist(createValidTask(testUser2, "Other user"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TaskDTO> streamed;
+        try (Stream<TaskDTO> tasks = taskRepository.streamDtosByUserId(testUser1.getId())) {
+            streamed = tasks.toList();
+        }
+
+        // Then - mesma ordem da lista em memória
+        assertThat(streamed).isEqualTo(taskRepository.findDtosByUserId(testUser1.getId()));
+        assertThat(streamed).hasSize(5);
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Should bulk update only the owner's selected tasks and stamp updatedAt")
+    void shouldBulkUpdateOwnedTasksByIds() {
+        // Given
+        Task first = entityManager.persist(createValidTask(testUser1, "First"));
+        Task second = entityManager.persist(createValidTask(testUser1, "Second"));
+        Task untouched = entityManager.persist(createValidTask(testUser1, "Untouched"));
+        Task foreign = entityManager.persist(createValidTask(testUser2, "Foreign"));
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+
+        // When - o id da task de outro usuário não casa
+        int updated = taskRepository.updateStatusAndPriority(
+                TaskSpecifications.ownedIds(testUser1.getId(), List.of(first.getId(), second.getId(), foreign.getId())),
+                Status.DONE, null, now);
+
+        // Then - prioridade (nula no pedido) fica como estava
+        assertThat(updated).isEqualTo(2);
+        assertThat(taskRepository.findById(first.getId())).get()
+                .satisfies(task -> {
+                    assertThat(task.getStatus()).isEqualTo(Status.DONE);
+                    assertThat(task.getPriority()).isEqualTo(VALID_PRIORITY);
+                    assertThat(task.getUpdatedAt()).isEqualTo(now);
+                });
+        assertThat(taskRepository.findById(untouched.getId())).get()
+                .extracting(Task::getStatus).isEqualTo(VALID_STATUS);
+        assertThat(taskRepository.findById(foreign.getId())).get()
+                .extracting(Task::getStatus).isEqualTo(VALID_STATUS);
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("Should bulk update the owner's tasks matching a search filter")
+    void shouldBulkUpdateByFilter() {
+        // Given
+        entityManager.persist(createTaskWithStatus(testUser1, "Pending 1", Status.PENDING));
+        entityManager.persist(createTaskWithStatus(testUser1, "Pending 2", Status.PENDING));
+        entityManager.persist(createTaskWithStatus(testUser1, "Done", Status.DONE));
+        entityManager.persist(createTaskWithStatus(testUser2, "Other pending", Status.PENDING));
+        entityManager.flush();
+        TaskFilter pending = new TaskFilter();
+        pending.setStatus(Status.PENDING);
+
+        // When
+        int updated = taskRepository.updateStatusAndPriority(
+                TaskSpecifications.search(testUser1.getId(), pending), null, Priority.LOW, LocalDateTime.now());
+
+        // Then
+        assertThat(updated).isEqualTo(2);
+        assertThat(taskRepository.findByUserIdAndStatus(testUser1.getId(), Status.PENDING))
+                .extracting(Task::getPriority).containsOnly(Priority.LOW);
+        assertThat(taskRepository.findByUserIdAndStatus(testUser2.getId(), Status.PENDING))
+                .extracting(Task::getPriority).containsOnly(VALID_PRIORITY);
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("Should bulk delete only the owner's selected tasks, recording a tombstone for each")
+    void shouldBulkDeleteWithTombstones() {
+        // Given
+        Task first = entityManager.persist(createValidTask(testUser1, "First"));
+        Task second = entityManager.persist(createValidTask(testUser1, "Second"));
+        Task kept = entityManager.persist(createValidTask(testUser1, "Kept"));
+        Task foreign = entityManager.persist(createValidTask(testUser2, "Foreign"));
+        entityManager.flush();
+        LocalDateTime deletedAt = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+        // When
+        int deleted = taskRepository.deleteWithTombstones(TaskSpecifications.ownedIds(testUser1.getId(),
+                List.of(second.getId(), first.getId(), foreign.getId())), deletedAt);
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(taskRepository.findAllById(List.of(first.getId(), second.getId(), kept.getId(), foreign.getId())))
+                .extracting(Task::getTitle).containsExactlyInAnyOrder("Kept", "Foreign");
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT tt FROM TaskTombstone tt", TaskTombstone.class)
+                .getResultList())
+                .extracting(TaskTombstone::getTaskId, TaskTombstone::getUserId, TaskTombstone::getDeletedAt)
+                .containsExactlyInAnyOrder(
+                        tuple(first.getId(), testUser1.getId(), deletedAt),
+                        tuple(second.getId(), testUser1.getId(), deletedAt));
+    }
+
+    @Test
+    @Order(28)
+    @DisplayName("Should load several tasks of the owner in one query, leaving out other users' ids")
+    void shouldFindOwnedTasksByIds() {
+        // Given
+        Task first = entityManager.persist(createValidTask(testUser1, "First"));
+        Task second = entityManager.persist(createValidTask(testUser1, "Second"));
+        Task foreign = entityManager.persist(createValidTask(testUser2, "Foreign"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Task> tasks = taskRepository.findByUserIdAndIdIn(testUser1.getId(),
+                List.of(first.getId(), second.getId(), foreign.getId(), 999_999L));
+
+        // Then
+        assertThat(tasks).extracting(Task::getId).containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+}
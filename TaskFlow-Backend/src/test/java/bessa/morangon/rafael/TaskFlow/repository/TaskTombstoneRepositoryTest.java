@@ -0,0 +1,68 @@
+package bessa.morangon.rafael.TaskFlow.repository;
+
+import bessa.morangon.rafael.TaskFlow.domain.model.TaskTombstone;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@EntityScan(basePackages = "bessa.morangon.rafael.TaskFlow.domain.model")
+@EnableJpaRepositories(basePackages = "bessa.morangon.rafael.TaskFlow.domain.repository")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TaskTombstoneRepository Tests")
+class TaskTombstoneRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new TaskTombstone(1L, 10L, BASE.minusDays(40)));
+        entityManager.persist(new TaskTombstone(2L, 10L, BASE.minusMinutes(5)));
+        entityManager.persist(new TaskTombstone(3L, 10L, BASE.plusMinutes(5)));
+        entityManager.persist(new TaskTombstone(4L, 20L, BASE.plusMinutes(5)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should return only ids deleted after the given instant for the given user")
+    void shouldFindTaskIdsDeletedSince() {
+        // When
+        List<Long> ids = taskTombstoneRepository.findTaskIdsDeletedSince(10L, BASE.minusDays(1));
+
+        // Then
+        assertThat(ids).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should purge only tombstones older than the cutoff")
+    void shouldDeleteOlderThanCutoff() {
+        // When
+        int purged = taskTombstoneRepository.deleteOlderThan(BASE.minusDays(30));
+
+        // Then
+        assertThat(purged).isEqualTo(1);
+        assertThat(taskTombstoneRepository.findAll())
+                .extracting(TaskTombstone::getTaskId)
+                .containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+}
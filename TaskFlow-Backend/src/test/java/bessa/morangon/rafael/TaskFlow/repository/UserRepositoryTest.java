@@ -195,9 +195,11 @@ class UserRepositoryTest {
         User user2 = createValidUser();
         user2.setFullName("Different Name"); // ✅ Nome válido (só letras e espaços)
 
+        // Com ids por sequence o INSERT vai em batch: o H2 embrulha a violação num JdbcBatchUpdateException
         assertThatThrownBy(() -> {
             entityManager.persistAndFlush(user2);
-        }).hasCauseInstanceOf(org.h2.jdbc.JdbcSQLIntegrityConstraintViolationException.class);
+        }).isInstanceOf(org.hibernate.exception.ConstraintViolationException.class)
+                .hasMessageContaining("EMAIL");
     }
 
     // =====================================================
@@ -0,0 +1,73 @@
+package bessa.morangon.rafael.TaskFlow.security;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.JwtTokenCache;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtTokenCache Tests")
+class JwtTokenCacheTest {
+
+    private static final String SECRET = "G7t!xA9q@LpZ#4rVw2Kd$MnC*8sUf^Jh";
+
+    private JwtUtil jwtUtil;
+    private JwtTokenCache jwtTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil(SECRET, 3600000));
+        jwtTokenCache = new JwtTokenCache(jwtUtil, new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    @DisplayName("Should parse token only once and serve next verifications from cache")
+    void shouldParseTokenOnlyOnce() {
+        String token = jwtUtil.generateToken("joao@email.com", 1L);
+
+        Optional<JwtTokenCache.VerifiedToken> first = jwtTokenCache.verify(token);
+        Optional<JwtTokenCache.VerifiedToken> second = jwtTokenCache.verify(token);
+
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get().subject()).isEqualTo("joao@email.com");
+        assertThat(second.get().userId()).isEqualTo(1L);
+
+        verify(jwtUtil, times(1)).parseClaims(token);
+        assertThat(jwtTokenCache.stats().hitCount()).isEqualTo(1);
+        assertThat(jwtTokenCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject tampered token and not cache it")
+    void shouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken("joao@email.com", 1L) + "x";
+
+        assertThat(jwtTokenCache.verify(token)).isEmpty();
+        assertThat(jwtTokenCache.verify(token)).isEmpty();
+
+        verify(jwtUtil, times(2)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void shouldRejectExpiredToken() {
+        JwtUtil expiredUtil = new JwtUtil(SECRET, -1000);
+        String token = expiredUtil.generateToken("joao@email.com", 1L);
+
+        assertThat(jwtTokenCache.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed token")
+    void shouldRejectMalformedToken() {
+        assertThat(jwtTokenCache.verify("not-a-jwt")).isEmpty();
+        assertThat(jwtTokenCache.verify("")).isEmpty();
+    }
+}
@@ -0,0 +1,200 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.TaskFlowApplication;
+import bessa.morangon.rafael.TaskFlow.domain.model.CacheInvalidation;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import bessa.morangon.rafael.TaskFlow.domain.repository.CacheInvalidationRepository;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Duas instâncias da aplicação sobre o mesmo banco H2: o que uma altera chega aos caches da outra
+ * pelo cache_invalidations. O poll() é chamado pelo teste (o agendado fica com intervalo longo).
+ */
+@DisplayName("CacheInvalidationLog Tests")
+class CacheInvalidationLogTest {
+
+    private static final String DATABASE_URL =
+            "jdbc:h2:mem:cache-coherence;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;LOCK_TIMEOUT=10000";
+    private static final String EMAIL = "node@example.com";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final Principal principal = () -> EMAIL;
+    private User user;
+    private Task task;
+
+    @BeforeAll
+    static void startNodes() {
+        // Só o primeiro nó cria (e no fim apaga) o schema
+        nodeA = startNode("create-drop");
+        nodeB = startNode("none");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    // Argumentos de linha de comando: têm precedência sobre o application.properties
+    // (profiles()/properties() do builder só somam ao perfil prod ou valem como padrão)
+    private static ConfigurableApplicationContext startNode(String ddlAuto) {
+        return new SpringApplicationBuilder(TaskFlowApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=" + DATABASE_URL,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.show-sql=false",
+                        "--cache-invalidation.poll-interval=1h");
+    }
+
+    @BeforeEach
+    void setUp() {
+        inTransaction(nodeA, () -> {
+            user = new User();
+            user.setFullName("Node User");
+            user.setAge(30);
+            user.setEmail(EMAIL);
+            user.setPassword("MyPass123@");
+            nodeA.getBean(UserRepository.class).save(user);
+
+            task = new Task();
+            task.setTitle("Original Title");
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            task.setPriority(Priority.MEDIUM);
+            task.setUser(user);
+            nodeA.getBean(TaskRepository.class).save(task);
+        });
+        // Registros de testes anteriores já aplicados em cada nó
+        nodeA.getBean(CacheInvalidationLog.class).poll();
+        nodeB.getBean(CacheInvalidationLog.class).poll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inTransaction(nodeA, () -> {
+            nodeA.getBean(TaskRepository.class).deleteAllInBatch();
+            nodeA.getBean(UserRepository.class).deleteAllInBatch();
+        });
+    }
+
+    private static void inTransaction(ConfigurableApplicationContext node, Runnable action) {
+        new TransactionTemplate(node.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> action.run());
+    }
+
+    private String titleOnNodeB() {
+        return nodeB.getBean(TaskService.class).getTaskById(task.getId(), null, principal).getBody().getTitle();
+    }
+
+    @Test
+    @DisplayName("Should propagate a task update to the other node's caches")
+    void shouldPropagateTaskUpdate() {
+        // Given - nó B com a task no cache de segundo nível e a ETag do usuário
+        TaskVersionTracker versionsOnB = nodeB.getBean(TaskVersionTracker.class);
+        assertThat(titleOnNodeB()).isEqualTo("Original Title");
+        String etagBefore = versionsOnB.etag(user.getId());
+
+        // When - alteração no nó A
+        Task update = new Task();
+        update.setTitle("Updated on A");
+        update.setPriority(Priority.HIGH);
+        update.setStatus(Status.DONE);
+        update.setDueDate(task.getDueDate());
+        nodeA.getBean(TaskService.class).updateTask(update, task.getId(), principal);
+
+        // Then - sem o poll o nó B ainda serve o que tem em cache
+        assertThat(titleOnNodeB()).isEqualTo("Original Title");
+
+        int applied = nodeB.getBean(CacheInvalidationLog.class).poll();
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(titleOnNodeB()).isEqualTo("Updated on A");
+        assertThat(versionsOnB.etag(user.getId())).isNotEqualTo(etagBefore);
+
+        // Registro já aplicado não volta a ser aplicado; o nó A ignora os próprios registros
+        assertThat(nodeB.getBean(CacheInvalidationLog.class).poll()).isZero();
+        assertThat(nodeA.getBean(CacheInvalidationLog.class).poll()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should propagate an e-mail change to the other node's user caches")
+    void shouldPropagateUserChange() {
+        // Given - nó B com o usuário no cache de autenticação e no cache de email -> id
+        CustomUserDetailsService userDetailsOnB = nodeB.getBean(CustomUserDetailsService.class);
+        assertThat(userDetailsOnB.loadUserByUsername(EMAIL).getUsername()).isEqualTo(EMAIL);
+
+        // When
+        User changed = new User();
+        changed.setFullName("Node User");
+        changed.setAge(31);
+        changed.setEmail("moved@example.com");
+        nodeA.getBean(UserService.class).updateUser(changed, user.getId());
+        nodeB.getBean(CacheInvalidationLog.class).poll();
+
+        // Then - o email antigo deixa de autenticar no nó B e o novo resolve para o mesmo usuário
+        assertThatThrownBy(() -> userDetailsOnB.loadUserByUsername(EMAIL))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(nodeB.getBean(UserRepository.class).findByEmail("moved@example.com"))
+                .map(User::getId)
+                .contains(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should write one entry per change in the mutation's transaction and nothing on rollback")
+    void shouldWriteEntriesWithTheTransaction() {
+        // Given
+        CacheInvalidationRepository invalidations = nodeA.getBean(CacheInvalidationRepository.class);
+        invalidations.deleteAllInBatch();
+
+        // When - duas tasks novas na mesma transação: um registro só para as tasks do usuário
+        nodeA.getBean(TaskService.class).createTasks(List.of(newTask("Batch 1"), newTask("Batch 2")), principal);
+
+        // Then
+        assertThat(invalidations.findAll()).singleElement().satisfies(entry -> {
+            assertThat(entry.getScope()).isEqualTo(CacheInvalidation.Scope.USER_TASKS);
+            assertThat(entry.getUserId()).isEqualTo(user.getId());
+        });
+
+        // When - alteração desfeita
+        assertThatThrownBy(() -> inTransaction(nodeA, () -> {
+            nodeA.getBean(CacheInvalidationLog.class).userChanged(user.getId(), EMAIL);
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(invalidations.count()).isEqualTo(1);
+    }
+
+    private static Task newTask(String title) {
+        Task newTask = new Task();
+        newTask.setTitle(title);
+        newTask.setDueDate(LocalDateTime.now().plusDays(1));
+        newTask.setPriority(Priority.LOW);
+        return newTask;
+    }
+}
@@ -1,7 +1,9 @@
 package bessa.morangon.rafael.TaskFlow.service;
 
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.UserDetailsCache;
 import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,10 +11,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +30,10 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserDetailsCache userDetailsCache =
+            new UserDetailsCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -189,8 +197,9 @@ class CustomUserDetailsServiceTest {
                 // Then
                 assertThat(userDetails.getPassword()).isEqualTo(passwordHash);
 
-                // Reset para próxima iteração
+                // Reset para próxima iteração (incluindo o cache, já que o email é o mesmo)
                 reset(userRepository);
+                userDetailsCache.invalidate("test@example.com");
             }
         }
 
@@ -305,4 +314,71 @@ class CustomUserDetailsServiceTest {
             verify(userRepository).findByEmail("user2@test.com");
         }
     }
+
+    @Nested
+    @DisplayName("Cache Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Should hit database only once for repeated lookups")
+        void shouldHitDatabaseOnlyOnceForRepeatedLookups() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When
+            customUserDetailsService.loadUserByUsername("joao@email.com");
+            customUserDetailsService.loadUserByUsername("joao@email.com");
+            UserDetails userDetails = customUserDetailsService.loadUserByUsername("joao@email.com");
+
+            // Then
+            assertThat(userDetails.getUsername()).isEqualTo("joao@email.com");
+            verify(userRepository, times(1)).findByEmail("joao@email.com");
+        }
+
+        @Test
+        @DisplayName("Should reload user from database after invalidation")
+        void shouldReloadUserAfterInvalidation() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            customUserDetailsService.loadUserByUsername("joao@email.com");
+
+            // When
+            userDetailsCache.invalidate("joao@email.com");
+            customUserDetailsService.loadUserByUsername("joao@email.com");
+
+            // Then
+            verify(userRepository, times(2)).findByEmail("joao@email.com");
+        }
+
+        @Test
+        @DisplayName("Should not cache users that were not found")
+        void shouldNotCacheUsersThatWereNotFound() {
+            // Given
+            when(userRepository.findByEmail("naoexiste@email.com")).thenReturn(Optional.empty());
+
+            // When
+            assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("naoexiste@email.com"))
+                    .isInstanceOf(UsernameNotFoundException.class);
+            assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("naoexiste@email.com"))
+                    .isInstanceOf(UsernameNotFoundException.class);
+
+            // Then
+            verify(userRepository, times(2)).findByEmail("naoexiste@email.com");
+        }
+
+        @Test
+        @DisplayName("Should keep cached password when returned copy has credentials erased")
+        void shouldKeepCachedPasswordWhenCopyIsErased() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            UserDetails first = customUserDetailsService.loadUserByUsername("joao@email.com");
+
+            // When - o AuthenticationManager apaga as credenciais após o login
+            ((org.springframework.security.core.userdetails.User) first).eraseCredentials();
+            UserDetails second = customUserDetailsService.loadUserByUsername("joao@email.com");
+
+            // Then
+            assertThat(second.getPassword()).isEqualTo("$2a$10$encodedPasswordHash");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.AuthenticatedUser;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskFilter;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primário e réplica em dois bancos H2. A réplica recebe uma cópia do primário com títulos/nomes
+ * diferentes: o valor lido mostra de qual banco a leitura veio.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.datasource.replica.username=sa",
+        "spring.jpa.show-sql=false",
+        "read-replica.sticky-window=1s"
+})
+@ActiveProfiles("test")
+@DisplayName("Read replica routing Tests")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        // Gravado sem usuário autenticado: nenhuma leitura fica presa ao primário
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            user = new User();
+            user.setFullName("Primary Name");
+            user.setAge(30);
+            user.setEmail("routing@example.com");
+            user.setPassword("MyPass123@");
+            userRepository.save(user);
+
+            task = new Task();
+            task.setTitle("From primary");
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            task.setPriority(Priority.MEDIUM);
+            task.setUser(user);
+            taskRepository.save(task);
+        });
+
+        // "Replicação": cópia do primário (schema e dados), depois divergindo nos valores
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        primary.queryForList("SCRIPT", String.class).forEach(replica::execute);
+        replica.update("UPDATE tasks SET title = 'From replica'");
+        replica.update("UPDATE users SET fullName = 'Replica Name'");
+
+        entityManagerFactory.getCache().evictAll();
+        authenticateAs(user.getId(), user.getEmail());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    private Authentication authenticateAs(Long userId, String email) {
+        AuthenticatedUser principal = new AuthenticatedUser(userId, email, "", List.of());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+
+    private Authentication current() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String title() {
+        return taskService.getTaskById(task.getId(), null, current()).getBody().getTitle();
+    }
+
+    private void updateTitle(String title) {
+        Task update = new Task();
+        update.setTitle(title);
+        update.setPriority(Priority.HIGH);
+        update.setStatus(Status.DONE);
+        update.setDueDate(task.getDueDate());
+        taskService.updateTask(update, task.getId(), current());
+    }
+
+    @Test
+    @DisplayName("Should serve read-only service methods from the replica")
+    void shouldReadFromReplica() {
+        // When
+        String json = new String(taskService.getAllTasksWithoutPagination(null, current()).getBody(),
+                StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(title()).isEqualTo("From replica");
+        assertThat(json).contains("From replica");
+        assertThat(taskService.getAllTasks(Pageable.unpaged(), null, current())
+                .getBody().getContent()).extracting("title").containsExactly("From replica");
+        assertThat(userService.getById(user.getId()).getBody().getFullName()).isEqualTo("Replica Name");
+    }
+
+    @Test
+    @DisplayName("Should not cache nor tag with an ETag what was read from the replica")
+    void shouldNotCacheReplicaReads() {
+        // When
+        ResponseEntity<TaskDTO> byId = taskService.getTaskById(task.getId(), null, current());
+        ResponseEntity<byte[]> list = taskService.getAllTasksWithoutPagination(null, current());
+
+        // Then - sem ETag (o navegador não revalida com ela) e fora do cache de segundo nível
+        assertThat(byId.getHeaders().getETag()).isNull();
+        assertThat(list.getHeaders().getETag()).isNull();
+        assertThat(entityManagerFactory.getCache().contains(Task.class, task.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isFalse();
+
+        // When - a réplica alcança o primário
+        new JdbcTemplate(replicaDataSource).update("UPDATE tasks SET title = 'Caught up'");
+
+        // Then - a leitura seguinte já vê o valor novo
+        assertThat(title()).isEqualTo("Caught up");
+        assertThat(new String(taskService.getAllTasksWithoutPagination(null, current()).getBody(),
+                StandardCharsets.UTF_8)).contains("Caught up");
+    }
+
+    @Test
+    @DisplayName("Should keep repository calls outside a service transaction on the primary")
+    void shouldKeepRepositoryReadsOnPrimary() {
+        // When - transações readOnly abertas pelo Spring Data, não por um método do service
+        Page<TaskDTO> found = taskService.searchTasks(new TaskFilter(), Pageable.ofSize(10), current()).getBody();
+
+        // Then
+        assertThat(taskRepository.findById(task.getId())).map(Task::getTitle).contains("From primary");
+        assertThat(found.getContent()).extracting("title").containsExactly("From primary");
+    }
+
+    @Test
+    @DisplayName("Should read the user's own writes from the primary right after the commit")
+    void shouldReadOwnWritesFromPrimary() {
+        // When - escrita no primário; a réplica ainda não recebeu
+        updateTitle("Written on primary");
+
+        // Then - o autor lê do primário
+        assertThat(title()).isEqualTo("Written on primary");
+
+        // Then - outro usuário continua lendo da réplica
+        authenticateAs(user.getId() + 1000, "other@example.com");
+        assertThat(userService.getById(user.getId()).getBody().getFullName()).isEqualTo("Replica Name");
+    }
+
+    @Test
+    @DisplayName("Should go back to the replica after the sticky window")
+    void shouldReturnToReplicaAfterStickyWindow() throws InterruptedException {
+        // Given
+        updateTitle("Written on primary");
+
+        // When
+        Thread.sleep(1200);
+
+        // Then - a réplica (que neste teste nunca recebe a escrita) volta a atender o usuário
+        assertThat(userService.getById(user.getId()).getBody().getFullName()).isEqualTo("Replica Name");
+    }
+}
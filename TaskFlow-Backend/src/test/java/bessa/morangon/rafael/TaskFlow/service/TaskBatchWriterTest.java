@@ -0,0 +1,213 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperation;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperation.Type;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskBatchWriter Tests")
+class TaskBatchWriterTest {
+
+    private static final int MAX_SIZE = 10;
+    private static final int FLUSH_SIZE = 4;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TaskBatchWriter writer;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        writer = new TaskBatchWriter(entityManager, Validation.buildDefaultValidatorFactory().getValidator(),
+                MAX_SIZE, FLUSH_SIZE);
+        owner = new User();
+        owner.setId(1L);
+    }
+
+    private List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Priority.MEDIUM);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    @DisplayName("Should persist every task for the owner and return the ids in order")
+    void shouldPersistAndReturnIdsInOrder() {
+        // Given - persist atribui o id como a sequence faria
+        AtomicLong sequence = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<Task>getArgument(0).setId(sequence.getAndIncrement());
+            return null;
+        }).when(entityManager).persist(any(Task.class));
+        List<Task> tasks = tasks(3);
+        tasks.get(0).setId(999L);
+
+        // When
+        List<Long> ids = writer.insertAll(tasks, owner);
+
+        // Then
+        assertThat(ids).containsExactly(100L, 101L, 102L);
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getUser()).isSameAs(owner));
+        verify(entityManager, times(3)).persist(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Should flush and clear the persistence context every flush-size tasks")
+    void shouldFlushAndClearPeriodically() {
+        // When - 10 tasks com flush a cada 4: limpa depois da 4ª e da 8ª, flush final para as 2 restantes
+        writer.insertAll(tasks(10), owner);
+
+        // Then
+        InOrder inOrder = inOrder(entityManager);
+        inOrder.verify(entityManager, times(4)).persist(any(Task.class));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(entityManager, times(4)).persist(any(Task.class));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(entityManager, times(2)).persist(any(Task.class));
+        inOrder.verify(entityManager).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch with indexed errors before any insert")
+    void shouldRejectInvalidTasksBeforeInserting() {
+        // Given
+        List<Task> tasks = tasks(3);
+        tasks.get(1).setTitle(" ");
+        tasks.get(2).setPriority(null);
+
+        // When & Then
+        assertThatThrownBy(() -> writer.insertAll(tasks, owner))
+                .isInstanceOfSatisfying(ConstraintViolationException.class, ex ->
+                        assertThat(ex.getConstraintViolations())
+                                .extracting(violation -> violation.getPropertyPath().toString(), ConstraintViolation::getMessage)
+                                .containsExactlyInAnyOrder(
+                                        tuple("tasks[1].title", "Title is required"),
+                                        tuple("tasks[2].priority", "Priority is required")));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    @DisplayName("Should reject null entries in the batch")
+    void shouldRejectNullEntries() {
+        List<Task> tasks = tasks(2);
+        tasks.add(null);
+
+        assertThatThrownBy(() -> writer.insertAll(tasks, owner))
+                .isInstanceOf(ConstraintViolationException.class);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    @DisplayName("Should reject empty batches and batches over the limit")
+    void shouldRejectEmptyOrOversizedBatch() {
+        assertThatThrownBy(() -> writer.insertAll(List.of(), owner))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> writer.insertAll(null, owner))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> writer.insertAll(tasks(MAX_SIZE + 1), owner))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining(String.valueOf(MAX_SIZE));
+        verifyNoInteractions(entityManager);
+    }
+
+    private TaskOperation create(String tempId) {
+        return new TaskOperation(Type.CREATE, tempId, null, null, tasks(1).get(0));
+    }
+
+    @Test
+    @DisplayName("Should accept creates, updates and deletes that reference earlier tempIds")
+    void shouldAcceptValidOperations() {
+        writer.validateOperations(List.of(
+                create("t1"),
+                new TaskOperation(Type.UPDATE, null, null, "t1", tasks(1).get(0)),
+                new TaskOperation(Type.UPDATE, null, 7L, null, tasks(1).get(0)),
+                new TaskOperation(Type.DELETE, null, 8L, null, null),
+                new TaskOperation(Type.DELETE, null, null, "t1", null)));
+    }
+
+    @Test
+    @DisplayName("Should report invalid task payloads with the operation index")
+    void shouldRejectInvalidOperationPayload() {
+        Task invalid = tasks(1).get(0);
+        invalid.setTitle("");
+
+        assertThatThrownBy(() -> writer.validateOperations(List.of(
+                create("t1"),
+                new TaskOperation(Type.UPDATE, null, 7L, null, invalid))))
+                .isInstanceOfSatisfying(ConstraintViolationException.class, ex ->
+                        assertThat(ex.getConstraintViolations())
+                                .extracting(violation -> violation.getPropertyPath().toString())
+                                .containsExactly("operations[1].task.title"));
+    }
+
+    @Test
+    @DisplayName("Should reject operations with a missing, ambiguous or unknown target")
+    void shouldRejectInvalidTargets() {
+        assertThatThrownBy(() -> writer.validateOperations(List.of(
+                new TaskOperation(Type.DELETE, null, 7L, "t1", null))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("operations[0]");
+        assertThatThrownBy(() -> writer.validateOperations(List.of(
+                new TaskOperation(Type.DELETE, null, null, null, null))))
+                .isInstanceOf(InvalidRequestException.class);
+        // ref só vale para tempId criado ANTES no lote
+        assertThatThrownBy(() -> writer.validateOperations(List.of(
+                new TaskOperation(Type.DELETE, null, null, "t1", null),
+                create("t1"))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("ref 't1'");
+        assertThatThrownBy(() -> writer.validateOperations(List.of(
+                new TaskOperation(Type.UPDATE, null, 7L, null, null))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("task is required");
+    }
+
+    @Test
+    @DisplayName("Should reject creates with ids and duplicate tempIds")
+    void shouldRejectInvalidCreates() {
+        assertThatThrownBy(() -> writer.validateOperations(List.of(
+                new TaskOperation(Type.CREATE, "t1", 7L, null, tasks(1).get(0)))))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> writer.validateOperations(List.of(create("t1"), create("t1"))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("operations[1]")
+                .hasMessageContaining("duplicate tempId");
+        assertThatThrownBy(() -> writer.validateOperations(List.of()))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.JwtUtil;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /tasks/stream num Tomcat de verdade: um cliente que para de ler não prende a thread de envio
+ * além do prazo de escrita do conector. Uma única thread de envio, para que o outro assinante só
+ * receba algo depois que ela for liberada.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.connection-timeout=1s",
+        "task-stream.sender-threads=1",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@DisplayName("TaskEventStream servlet Tests")
+class TaskEventStreamServletTest {
+
+    // Grande o bastante para encher rapidamente os buffers do socket de quem não lê
+    private static final String LARGE_DESCRIPTION = "x".repeat(64 * 1024);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskEventStream taskEventStream;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User stalledUser;
+    private User activeUser;
+
+    @BeforeEach
+    void setUp() {
+        stalledUser = userRepository.save(newUser("stalled@example.com"));
+        activeUser = userRepository.save(newUser("active@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setFullName("Stream User");
+        user.setAge(30);
+        user.setEmail(email);
+        user.setPassword("MyPass123@");
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should drop a client that stops reading after the connector write timeout")
+    void shouldDropStalledClientAfterWriteTimeout() throws Exception {
+        try (Socket stalled = openStream(stalledUser); Socket active = openStream(activeUser)) {
+            // Given - os dois conectados ("connected" já recebido); o primeiro não lê mais nada
+            awaitSubscribers(2);
+
+            // When - eventos grandes para quem não lê até o envio travar e estourar o prazo
+            long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            long taskId = 1;
+            while (taskEventStream.subscriberCount() == 2 && System.nanoTime() < deadline) {
+                taskEventStream.onTaskChanged(TaskChangedEvent.updated(stalledUser.getId(),
+                        new TaskSnapshot(taskId, Status.PENDING, Priority.LOW, null), largeTask(taskId++)));
+                Thread.sleep(20);
+            }
+
+            // Then - o assinante parado saiu e a única thread de envio voltou a atender os outros
+            assertThat(taskEventStream.subscriberCount()).isEqualTo(1);
+            taskEventStream.onTaskChanged(TaskChangedEvent.deleted(activeUser.getId(),
+                    new TaskSnapshot(99L, Status.PENDING, Priority.LOW, null)));
+            assertThat(readUntil(active, "event:deleted")).isTrue();
+        }
+    }
+
+    private TaskDTO largeTask(long id) {
+        return new TaskDTO(id, "Task " + id, LARGE_DESCRIPTION, LocalDateTime.now().plusDays(1),
+                Priority.LOW, Status.PENDING, stalledUser.getId());
+    }
+
+    // Socket cru com buffer de recepção pequeno: a janela TCP enche logo quando o cliente para de ler
+    private Socket openStream(User user) throws IOException {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.setSoTimeout(10_000);
+        socket.connect(new InetSocketAddress("localhost", port));
+        String request = "GET /tasks/stream HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Accept: text/event-stream\r\n"
+                + "Authorization: Bearer " + jwtUtil.generateToken(user.getEmail(), user.getId()) + "\r\n"
+                + "\r\n";
+        socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        assertThat(readUntil(socket, ":connected")).isTrue();
+        return socket;
+    }
+
+    private static boolean readUntil(Socket socket, String marker) throws IOException {
+        InputStream in = socket.getInputStream();
+        StringBuilder received = new StringBuilder();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            received.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            if (received.indexOf(marker) >= 0) {
+                return true;
+            }
+            // Só o fim interessa: o marcador pode chegar dividido entre duas leituras
+            if (received.length() > 2 * marker.length()) {
+                received.delete(0, received.length() - marker.length());
+            }
+        }
+        return false;
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (taskEventStream.subscriberCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(taskEventStream.subscriberCount()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,152 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TaskEventStream Tests")
+class TaskEventStreamTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    // Envios ficam pendentes até o teste rodar o executor, simulando um cliente lento
+    private List<Runnable> pendingSends;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pendingSends = new ArrayList<>();
+    }
+
+    private TaskEventStream stream(int bufferSize) {
+        return new TaskEventStream(meterRegistry, Duration.ofMinutes(30), bufferSize, 5, pendingSends::add);
+    }
+
+    private void runPendingSends() {
+        while (!pendingSends.isEmpty()) {
+            pendingSends.remove(0).run();
+        }
+    }
+
+    private TaskChangedEvent created(Long userId, Long taskId) {
+        return TaskChangedEvent.created(userId,
+                new TaskDTO(taskId, "Task " + taskId, null, null, Priority.LOW, Status.PENDING, userId));
+    }
+
+    @Test
+    @DisplayName("Should push events only to the subscribers of the task owner")
+    void shouldPushEventsToOwnerOnly() {
+        TaskEventStream stream = stream(16);
+        RecordingEmitter owner = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        stream.subscribe(1L, owner);
+        stream.subscribe(2L, other);
+
+        stream.onTaskChanged(created(1L, 10L));
+        stream.onTaskChanged(TaskChangedEvent.deleted(1L, new TaskSnapshot(10L, Status.PENDING, Priority.LOW, null)));
+        runPendingSends();
+
+        assertThat(owner.events).hasSize(3);
+        assertThat(owner.events.get(0)).contains(":connected");
+        assertThat(owner.events.get(1)).contains("event:created").contains("taskId=10");
+        assertThat(owner.events.get(2)).contains("event:deleted");
+        assertThat(other.events).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should drop pending events and send resync when a subscriber falls behind")
+    void shouldResyncSlowSubscriber() {
+        TaskEventStream stream = stream(2);
+        RecordingEmitter slow = new RecordingEmitter();
+        stream.subscribe(1L, slow);
+
+        // "connected" + 1 evento enchem a fila; o próximo estoura e descarta os pendentes
+        stream.onTaskChanged(created(1L, 10L));
+        stream.onTaskChanged(created(1L, 11L));
+        stream.onTaskChanged(created(1L, 12L));
+        runPendingSends();
+
+        assertThat(slow.events).hasSize(2);
+        assertThat(slow.events.get(0)).contains("event:" + TaskEventStream.RESYNC_EVENT);
+        assertThat(slow.events.get(1)).contains("taskId=12");
+        assertThat(meterRegistry.get("task.stream.resyncs").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should turn a bulk change into a resync without counting it as overflow")
+    void shouldSendResyncForBulkChange() {
+        TaskEventStream stream = stream(16);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(1L, emitter);
+
+        stream.onTaskChanged(TaskChangedEvent.bulk(1L));
+        runPendingSends();
+
+        assertThat(emitter.events).hasSize(2);
+        assertThat(emitter.events.get(1)).contains("event:" + TaskEventStream.RESYNC_EVENT);
+        assertThat(meterRegistry.get("task.stream.resyncs").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip heartbeats for a full buffer without forcing a resync")
+    void shouldSkipHeartbeatWhenBufferIsFull() {
+        TaskEventStream stream = stream(1);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(1L, emitter);
+
+        stream.sendHeartbeats();
+        runPendingSends();
+
+        assertThat(emitter.events).hasSize(1);
+        assertThat(meterRegistry.get("task.stream.resyncs").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should remove a subscriber whose connection is gone")
+    void shouldRemoveBrokenSubscriber() {
+        TaskEventStream stream = stream(16);
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failing = true;
+        stream.subscribe(1L, broken);
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+
+        runPendingSends();
+        stream.onTaskChanged(created(1L, 10L));
+
+        assertThat(stream.subscriberCount()).isZero();
+        assertThat(pendingSends).isEmpty();
+        assertThat(meterRegistry.get("task.stream.subscribers").gauge().value()).isZero();
+    }
+
+    // Emitter que guarda o texto de cada evento em vez de escrever numa resposta HTTP
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
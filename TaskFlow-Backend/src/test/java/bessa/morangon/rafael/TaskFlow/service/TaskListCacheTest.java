@@ -0,0 +1,146 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TaskListCache Tests")
+class TaskListCacheTest {
+
+    private static final String ETAG = "\"e-1\"";
+
+    private ObjectMapper objectMapper;
+    private TaskListCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskListCache(objectMapper, new TaskReadCoalescer(meterRegistry, Duration.ofSeconds(5)),
+                meterRegistry, DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    private List<TaskDTO> load(Long userId) {
+        loads.incrementAndGet();
+        return tasks(userId);
+    }
+
+    private static List<TaskDTO> tasks(Long userId) {
+        return List.of(new TaskDTO(userId * 10, "Task do usuário " + userId, null,
+                LocalDateTime.of(2030, 1, 1, 10, 0), Priority.HIGH, Status.PENDING, userId));
+    }
+
+    @Test
+    @DisplayName("Should serialize on the first read and serve the same bytes afterwards")
+    void shouldServeCachedBytes() throws Exception {
+        byte[] first = cache.get(1L, ETAG, () -> load(1L));
+        byte[] second = cache.get(1L, ETAG, () -> load(1L));
+
+        // Mesmo JSON que o Spring MVC escreveria para a lista
+        assertThat(new String(first, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(tasks(1L)));
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reload when the entry was built for another ETag")
+    void shouldReloadOnETagMismatch() {
+        cache.get(1L, ETAG, () -> load(1L));
+
+        cache.get(1L, "\"e-2\"", () -> load(1L));
+        cache.get(1L, "\"e-2\"", () -> load(1L));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should drop only the changed user's list after a commit")
+    void shouldInvalidateOnlyChangedUser() {
+        cache.get(1L, ETAG, () -> load(1L));
+        cache.get(2L, ETAG, () -> load(2L));
+
+        cache.onTaskChanged(TaskChangedEvent.deleted(1L, new TaskSnapshot(10L, Status.PENDING, Priority.LOW, null)));
+        cache.get(1L, ETAG, () -> load(1L));
+        cache.get(2L, ETAG, () -> load(2L));
+
+        // 2 cargas iniciais + recarga só do usuário 1
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should drop the list after a bulk change")
+    void shouldInvalidateOnBulkChange() {
+        cache.get(1L, ETAG, () -> load(1L));
+
+        cache.onTaskChanged(TaskChangedEvent.bulk(1L));
+        cache.get(1L, ETAG, () -> load(1L));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent misses for the same user into a single load")
+    void shouldCollapseConcurrentMisses() throws Exception {
+        // Given - a carga só termina depois que todos os pedidos chegaram
+        int requests = 8;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> cache.get(1L, ETAG, () -> {
+                    started.countDown();
+                    await(release);
+                    return load(1L);
+                })));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            // Tempo para os demais pedidos ficarem esperando pela carga em andamento
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then - uma única carga, o mesmo resultado para todos
+            byte[] first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<byte[]> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TaskMergePatch Tests")
+class TaskMergePatchTest {
+
+    private ObjectMapper objectMapper;
+    private TaskMergePatch mergePatch;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        mergePatch = new TaskMergePatch(objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+
+        // Vencimento no passado: só seria rejeitado se o dueDate fizesse parte do patch
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Relatório");
+        task.setDescription("Texto longo");
+        task.setDueDate(LocalDateTime.of(2020, 1, 1, 10, 0));
+        task.setPriority(Priority.MEDIUM);
+        task.setStatus(Status.PENDING);
+    }
+
+    private JsonNode json(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    @Test
+    @DisplayName("Should change only the supplied fields and validate only them")
+    void shouldPatchOnlySuppliedFields() throws Exception {
+        boolean changed = mergePatch.apply(task, json("{\"status\":\"DONE\"}"));
+
+        assertThat(changed).isTrue();
+        assertThat(task.getStatus()).isEqualTo(Status.DONE);
+        assertThat(task.getTitle()).isEqualTo("Relatório");
+        assertThat(task.getDescription()).isEqualTo("Texto longo");
+        assertThat(task.getDueDate()).isEqualTo(LocalDateTime.of(2020, 1, 1, 10, 0));
+    }
+
+    @Test
+    @DisplayName("Should clear a field sent as null")
+    void shouldClearNullFields() throws Exception {
+        mergePatch.apply(task, json("{\"description\":null,\"dueDate\":\"2099-05-01T09:30:00\"}"));
+
+        assertThat(task.getDescription()).isNull();
+        assertThat(task.getDueDate()).isEqualTo(LocalDateTime.of(2099, 5, 1, 9, 30));
+    }
+
+    @Test
+    @DisplayName("Should report no change when the values are the same")
+    void shouldDetectNoOpPatch() throws Exception {
+        assertThat(mergePatch.apply(task, json("{\"status\":\"PENDING\",\"title\":\"Relatório\"}"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject patched values that break the task constraints")
+    void shouldValidatePatchedFields() {
+        assertThatThrownBy(() -> mergePatch.apply(task, json("{\"title\":null,\"dueDate\":\"2020-02-01T00:00:00\"}")))
+                .isInstanceOfSatisfying(ConstraintViolationException.class, ex ->
+                        assertThat(ex.getConstraintViolations())
+                                .extracting(ConstraintViolation::getMessage)
+                                .containsExactlyInAnyOrder("Title is required", "Due date must be in the future"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or read-only fields, bad values and non-object bodies")
+    void shouldRejectInvalidPatches() {
+        assertThatThrownBy(() -> mergePatch.apply(task, json("{\"userId\":2}")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("userId");
+        assertThatThrownBy(() -> mergePatch.apply(task, json("{\"status\":\"ARCHIVED\"}")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("status");
+        assertThatThrownBy(() -> mergePatch.apply(task, json("[]")))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> mergePatch.apply(task, json("{}")))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThat(task.getStatus()).isEqualTo(Status.PENDING);
+    }
+}
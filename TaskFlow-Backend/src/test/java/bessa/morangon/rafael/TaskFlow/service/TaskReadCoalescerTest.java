@@ -0,0 +1,161 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TaskReadCoalescer Tests")
+class TaskReadCoalescerTest {
+
+    private static final int REQUESTS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskReadCoalescer coalescer;
+    private ExecutorService executor;
+    private AtomicInteger reads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new TaskReadCoalescer(meterRegistry, Duration.ofSeconds(5));
+        executor = Executors.newFixedThreadPool(REQUESTS);
+        reads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("task.read.coalescing").tag("result", result).counter().count();
+    }
+
+    // Leitura que só termina quando "release" é liberado
+    private Supplier<String> blockingRead(CountDownLatch started, CountDownLatch release, String value) {
+        return () -> {
+            reads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return value;
+        };
+    }
+
+    // Dispara os pedidos, espera a primeira leitura começar e dá tempo para os demais ficarem esperando
+    private List<Future<String>> submitConcurrently(String key, Supplier<String> read, CountDownLatch started)
+            throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            results.add(executor.submit(() -> coalescer.execute(key, read)));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        return results;
+    }
+
+    @Test
+    @DisplayName("Should share a single read among concurrent requests for the same key")
+    void shouldShareSingleRead() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = submitConcurrently("task:1:1:\"e-1\"",
+                blockingRead(started, release, "task 1"), started);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("task 1");
+        }
+        assertThat(reads).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(REQUESTS - 1);
+        assertThat(meterRegistry.get("task.read.coalescing.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not share reads between different keys nor keep results afterwards")
+    void shouldNotShareAcrossKeysOrTime() {
+        // When
+        coalescer.execute("task:1:1:\"e-1\"", () -> reads.incrementAndGet());
+        coalescer.execute("task:2:1:\"e-1\"", () -> reads.incrementAndGet());
+        coalescer.execute("task:1:1:\"e-1\"", () -> reads.incrementAndGet());
+
+        // Then - sem leitura em andamento, cada pedido vai ao banco
+        assertThat(reads).hasValue(3);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should propagate the shared read's exception to every waiting request")
+    void shouldPropagateException() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> failing = () -> {
+            reads.incrementAndGet();
+            started.countDown();
+            await(release);
+            throw new ResourceNotFoundException("Task", "id", 999L);
+        };
+        List<Future<String>> results = submitConcurrently("task:1:999:\"e-1\"", failing, started);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting after the timeout and read on its own")
+    void shouldReadAloneAfterTimeout() throws Exception {
+        // Given - leitura travada e um timeout curto
+        coalescer = new TaskReadCoalescer(meterRegistry, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stuck = executor.submit(() ->
+                coalescer.execute("tasks:1:\"e-1\"", blockingRead(started, release, "stuck")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When
+            String result = coalescer.execute("tasks:1:\"e-1\"", () -> "fresh");
+
+            // Then
+            assertThat(result).isEqualTo("fresh");
+            assertThat(count("timeout")).isEqualTo(1);
+            assertThat(count("executed")).isEqualTo(2);
+        } finally {
+            release.countDown();
+        }
+        assertThat(stuck.get(5, TimeUnit.SECONDS)).isEqualTo("stuck");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskSearchIndex Tests")
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        taskSearchIndex = new TaskSearchIndex(taskRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(30));
+
+        lenient().when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(
+                task(1L, "Relatório trimestral", "Enviar números finais para o financeiro"),
+                task(2L, "Comprar pão", "Padaria do centro, levar relatório impresso"),
+                task(3L, "Estudar Spring Boot", "Criar testes unitários")));
+    }
+
+    private TaskDTO task(Long id, String title, String description) {
+        return new TaskDTO(id, title, description, null, Priority.MEDIUM, Status.PENDING, 1L);
+    }
+
+    @Test
+    @DisplayName("Should tokenize ignoring case, accents, punctuation and one-letter terms")
+    void shouldTokenize() {
+        assertThat(TaskSearchIndex.tokenize("Relatório FINAL, versão 2.0 - a"))
+                .containsExactly("relatorio", "final", "versao");
+        assertThat(TaskSearchIndex.tokenize("   ")).isEmpty();
+        assertThat(TaskSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches")
+    void shouldRankTitleMatchesFirst() {
+        assertThat(taskSearchIndex.search(1L, "relatorio", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should require every term and accept prefixes")
+    void shouldRequireAllTermsAndAcceptPrefixes() {
+        assertThat(taskSearchIndex.search(1L, "relat padaria", 10)).containsExactly(2L);
+        assertThat(taskSearchIndex.search(1L, "spring testes", 10)).containsExactly(3L);
+        assertThat(taskSearchIndex.search(1L, "spring padaria", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should build the index from the database only once per user")
+    void shouldLoadIndexOnce() {
+        taskSearchIndex.search(1L, "relatorio", 10);
+        taskSearchIndex.search(1L, "spring", 10);
+        taskSearchIndex.search(1L, "pao", 10);
+
+        verify(taskRepository, times(1)).findDtosByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("Should apply committed create, update and delete events incrementally")
+    void shouldApplyChangeEvents() {
+        taskSearchIndex.search(1L, "relatorio", 10);
+
+        taskSearchIndex.onTaskChanged(TaskChangedEvent.created(1L, task(4L, "Relatório anual", null)));
+        assertThat(taskSearchIndex.search(1L, "anual", 10)).containsExactly(4L);
+
+        taskSearchIndex.onTaskChanged(TaskChangedEvent.updated(1L, new TaskSnapshot(1L, Status.PENDING, Priority.LOW, null), task(1L, "Planejamento", "Metas do ano")));
+        assertThat(taskSearchIndex.search(1L, "relatorio", 10)).containsExactly(4L, 2L);
+        assertThat(taskSearchIndex.search(1L, "metas", 10)).containsExactly(1L);
+
+        taskSearchIndex.onTaskChanged(TaskChangedEvent.deleted(1L, new TaskSnapshot(4L, Status.PENDING, Priority.LOW, null)));
+        assertThat(taskSearchIndex.search(1L, "anual", 10)).isEmpty();
+
+        verify(taskRepository, times(1)).findDtosByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index from the database after a bulk change")
+    void shouldReloadAfterBulkEvent() {
+        taskSearchIndex.search(1L, "relatorio", 10);
+
+        taskSearchIndex.onTaskChanged(TaskChangedEvent.bulk(1L));
+        when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(task(3L, "Estudar Spring Boot", null)));
+
+        assertThat(taskSearchIndex.search(1L, "relatorio", 10)).isEmpty();
+        assertThat(taskSearchIndex.search(1L, "spring", 10)).containsExactly(3L);
+        verify(taskRepository, times(2)).findDtosByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("Should ignore events for users whose index is not loaded")
+    void shouldIgnoreEventsForUnloadedUsers() {
+        taskSearchIndex.onTaskChanged(TaskChangedEvent.created(2L, task(9L, "Outro usuário", null)));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should respect the limit and return nothing for queries without terms")
+    void shouldRespectLimit() {
+        assertThat(taskSearchIndex.search(1L, "relatorio", 1)).containsExactly(1L);
+        assertThat(taskSearchIndex.search(1L, "!", 10)).isEmpty();
+    }
+}
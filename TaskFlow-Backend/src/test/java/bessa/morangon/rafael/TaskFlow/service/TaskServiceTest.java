@@ -1,38 +1,78 @@
 package bessa.morangon.rafael.TaskFlow.service;
 
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.InvalidRequestException;
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.ResourceNotFoundException;
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.UnauthorizedAccessException;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.AuthenticatedUser;
+import bessa.morangon.rafael.TaskFlow.domain.dto.CursorPage;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkRequest;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskBulkResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskChangesDTO;
 import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskExportFormat;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskFilter;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperation;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskOperationResultDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskStatsDTO;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.TaskMapper;
 import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
 import bessa.morangon.rafael.TaskFlow.domain.model.Status;
 import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.TaskTombstone;
 import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskTombstoneRepository;
 import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -47,8 +87,51 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private TaskMapper taskMapper = new TaskMapper();
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatsTracker taskStatsTracker;
+
+    @Mock
+    private TaskVersionTracker taskVersionTracker;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TaskEventStream taskEventStream;
+
+    @Mock
+    private TaskStreamingWriter taskStreamingWriter;
+
+    @Mock
+    private TaskBatchWriter taskBatchWriter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Spy
+    private TaskReadCoalescer taskReadCoalescer = new TaskReadCoalescer(new SimpleMeterRegistry(), Duration.ofSeconds(5));
+
+    @Spy
+    private TaskListCache taskListCache = new TaskListCache(objectMapper, taskReadCoalescer, new SimpleMeterRegistry(),
+            DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+
+    @Spy
+    private TaskMergePatch taskMergePatch = new TaskMergePatch(
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
     @Mock
-    private ModelMapper modelMapper;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Clock clock = Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
 
     @Mock
     private Principal principal;
@@ -56,6 +139,14 @@ class TaskServiceTest {
     @InjectMocks
     private TaskService taskService;
 
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+    private static final String CURRENT_ETAG = "\"e-7\"";
+
+    // Corpo de GET /tasks (JSON já serializado) de volta para a lista
+    private List<TaskDTO> tasksOf(ResponseEntity<byte[]> response) throws IOException {
+        return objectMapper.readValue(response.getBody(), new TypeReference<>() { });
+    }
+
     // Dados de teste reutilizáveis
     private User validUser;
     private User anotherUser;
@@ -100,6 +191,9 @@ class TaskServiceTest {
 
         // Mock Principal - sempre retorna o email do usuário válido
         lenient().when(principal.getName()).thenReturn("joao@email.com");
+
+        // Versão atual das tasks do usuário (ETag)
+        lenient().when(taskVersionTracker.etag(anyLong())).thenReturn(CURRENT_ETAG);
     }
 
     @Nested
@@ -110,12 +204,12 @@ class TaskServiceTest {
         @DisplayName("Should return task when user is owner")
         void shouldReturnTaskWhenUserIsOwner() {
             // Given
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(validTask));
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(modelMapper.map(validTask, TaskDTO.class)).thenReturn(taskDTO);
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(validTask));
+            when(taskMapper.toDto(validTask)).thenReturn(taskDTO);
 
             // When
-            ResponseEntity<TaskDTO> response = taskService.getTaskById(1L, principal);
+            ResponseEntity<TaskDTO> response = taskService.getTaskById(1L, null, principal);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -123,65 +217,77 @@ class TaskServiceTest {
             assertThat(response.getBody().getId()).isEqualTo(1L);
             assertThat(response.getBody().getTitle()).isEqualTo("Estudar Spring Boot");
 
-            verify(taskRepository).findById(1L);
+            verify(taskRepository).findByIdAndUserId(1L, 1L);
+            verify(taskRepository, never()).existsById(any());
             verify(userRepository).findByEmail("joao@email.com");
-            verify(modelMapper).map(validTask, TaskDTO.class);
+            verify(taskMapper).toDto(validTask);
+        }
+
+        @Test
+        @DisplayName("Should read through the coalescer keyed by user, task and current version")
+        void shouldCoalesceByUserTaskAndVersion() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(validTask));
+
+            // When
+            taskService.getTaskById(1L, null, principal);
+
+            // Then - pedidos feitos depois de um commit (outra ETag) não entram numa leitura anterior
+            verify(taskReadCoalescer).execute(eq("task:1:1:" + CURRENT_ETAG), any());
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when task not found")
         void shouldThrowExceptionWhenTaskNotFound() {
             // Given
-            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(999L)).thenReturn(false);
 
             // When & Then
-            assertThatThrownBy(() -> taskService.getTaskById(999L, principal))
+            assertThatThrownBy(() -> taskService.getTaskById(999L, null, principal))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("Task")
                     .hasMessageContaining("id")
                     .hasMessageContaining("999");
 
-            verify(taskRepository).findById(999L);
-            verify(userRepository, never()).findByEmail(any());
+            verify(taskRepository).findByIdAndUserId(999L, 1L);
+            verify(taskMapper, never()).toDto(any());
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when user not found")
         void shouldThrowExceptionWhenUserNotFound() {
             // Given
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(validTask));
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.empty());
 
             // When & Then
-            assertThatThrownBy(() -> taskService.getTaskById(1L, principal))
+            assertThatThrownBy(() -> taskService.getTaskById(1L, null, principal))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("User")
                     .hasMessageContaining("email");
 
-            verify(taskRepository).findById(1L);
             verify(userRepository).findByEmail("joao@email.com");
+            verify(taskRepository, never()).findByIdAndUserId(any(), any());
         }
 
         @Test
         @DisplayName("Should throw UnauthorizedAccessException when user is not owner")
         void shouldThrowExceptionWhenUserNotOwner() {
-            // Given - Task pertence ao anotherUser, mas principal é validUser
-            Task taskFromAnotherUser = new Task();
-            taskFromAnotherUser.setId(1L);
-            taskFromAnotherUser.setTitle("Task de outro usuário");
-            taskFromAnotherUser.setUser(anotherUser); // Task pertence ao outro usuário
-
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(taskFromAnotherUser));
+            // Given - Task existe, mas não pertence ao validUser
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(1L)).thenReturn(true);
 
             // When & Then
-            assertThatThrownBy(() -> taskService.getTaskById(1L, principal))
+            assertThatThrownBy(() -> taskService.getTaskById(1L, null, principal))
                     .isInstanceOf(UnauthorizedAccessException.class)
                     .hasMessageContaining("You don't have permission to access this task");
 
-            verify(taskRepository).findById(1L);
+            verify(taskRepository).findByIdAndUserId(1L, 1L);
             verify(userRepository).findByEmail("joao@email.com");
-            verify(modelMapper, never()).map(any(), any());
+            verify(taskMapper, never()).toDto(any());
         }
     }
 
@@ -194,15 +300,13 @@ class TaskServiceTest {
         void shouldReturnPaginatedTasksForUser() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            List<Task> userTasks = List.of(validTask);
-            Page<Task> taskPage = new PageImpl<>(userTasks, pageable, 1);
+            Page<TaskDTO> taskPage = new PageImpl<>(List.of(taskDTO), pageable, 1);
 
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findByUserId(1L, pageable)).thenReturn(taskPage);
-            when(modelMapper.map(validTask, TaskDTO.class)).thenReturn(taskDTO);
+            when(taskRepository.findDtosByUserId(1L, pageable)).thenReturn(taskPage);
 
             // When
-            ResponseEntity<Page<TaskDTO>> response = taskService.getAllTasks(pageable, principal);
+            ResponseEntity<Page<TaskDTO>> response = taskService.getAllTasks(pageable, null, principal);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -211,8 +315,8 @@ class TaskServiceTest {
             assertThat(response.getBody().getTotalElements()).isEqualTo(1);
 
             verify(userRepository).findByEmail("joao@email.com");
-            verify(taskRepository).findByUserId(1L, pageable);
-            verify(modelMapper).map(validTask, TaskDTO.class);
+            verify(taskRepository).findDtosByUserId(1L, pageable);
+            verify(taskRepository, never()).findByUserId(anyLong(), any(Pageable.class));
         }
 
         @Test
@@ -220,13 +324,13 @@ class TaskServiceTest {
         void shouldReturnEmptyPageWhenUserHasNoTasks() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Task> emptyPage = Page.empty(pageable);
+            Page<TaskDTO> emptyPage = Page.empty(pageable);
 
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findByUserId(1L, pageable)).thenReturn(emptyPage);
+            when(taskRepository.findDtosByUserId(1L, pageable)).thenReturn(emptyPage);
 
             // When
-            ResponseEntity<Page<TaskDTO>> response = taskService.getAllTasks(pageable, principal);
+            ResponseEntity<Page<TaskDTO>> response = taskService.getAllTasks(pageable, null, principal);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -234,7 +338,479 @@ class TaskServiceTest {
             assertThat(response.getBody().getContent()).isEmpty();
             assertThat(response.getBody().getTotalElements()).isEqualTo(0);
 
-            verify(modelMapper, never()).map(any(), any());
+            verify(taskMapper, never()).toDto(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getTasksByCursor Tests")
+    class GetTasksByCursorTests {
+
+        private Task taskCreatedAt(Long id, LocalDateTime createdAt) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle("Task " + id);
+            task.setPriority(Priority.LOW);
+            task.setCreatedAt(createdAt);
+            task.setUser(validUser);
+            return task;
+        }
+
+        @Test
+        @DisplayName("Should return first page with next cursor without running a count")
+        void shouldReturnFirstPageWithNextCursor() {
+            // Given
+            LocalDateTime now = LocalDateTime.of(2025, 1, 10, 12, 0);
+            Task newest = taskCreatedAt(3L, now);
+            Task middle = taskCreatedAt(2L, now.minusMinutes(1));
+            Task oldest = taskCreatedAt(1L, now.minusMinutes(2));
+
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findFirstKeysetPage(1L, Limit.of(3))).thenReturn(List.of(newest, middle, oldest));
+            when(taskMapper.toDto(any(Task.class))).thenReturn(taskDTO);
+
+            // When
+            ResponseEntity<CursorPage<TaskDTO>> response = taskService.getTasksByCursor(null, 2, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().getContent()).hasSize(2);
+            assertThat(response.getBody().isHasNext()).isTrue();
+            assertThat(response.getBody().getNextCursor()).isNotBlank();
+
+            verify(taskRepository, never()).countByUserId(anyLong());
+            verify(taskRepository, never()).findByUserId(anyLong(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should continue from the position encoded in the cursor")
+        void shouldContinueFromCursorPosition() {
+            // Given
+            LocalDateTime now = LocalDateTime.of(2025, 1, 10, 12, 0, 0, 123456000);
+            Task newest = taskCreatedAt(3L, now);
+            Task middle = taskCreatedAt(2L, now.minusMinutes(1));
+
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findFirstKeysetPage(1L, Limit.of(2))).thenReturn(List.of(newest, middle));
+            when(taskMapper.toDto(any(Task.class))).thenReturn(taskDTO);
+
+            String cursor = taskService.getTasksByCursor(null, 1, principal).getBody().getNextCursor();
+
+            when(taskRepository.findKeysetPageAfter(1L, now, 3L, Limit.of(2))).thenReturn(List.of(middle));
+
+            // When
+            ResponseEntity<CursorPage<TaskDTO>> response = taskService.getTasksByCursor(cursor, 1, principal);
+
+            // Then
+            assertThat(response.getBody().getContent()).hasSize(1);
+            assertThat(response.getBody().isHasNext()).isFalse();
+            assertThat(response.getBody().getNextCursor()).isNull();
+
+            verify(taskRepository).findKeysetPageAfter(1L, now, 3L, Limit.of(2));
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidRequestException for malformed cursor")
+        void shouldThrowForMalformedCursor() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When/Then
+            assertThatThrownBy(() -> taskService.getTasksByCursor("not-a-cursor", 10, principal))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessage("Invalid cursor");
+
+            verifyNoMoreInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidRequestException when size is out of range")
+        void shouldThrowWhenSizeOutOfRange() {
+            assertThatThrownBy(() -> taskService.getTasksByCursor(null, 0, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            assertThatThrownBy(() -> taskService.getTasksByCursor(null, TaskService.MAX_CURSOR_PAGE_SIZE + 1, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+
+            verifyNoInteractions(taskRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("searchTasks Tests")
+    class SearchTasksTests {
+
+        @Test
+        @DisplayName("Should search with specification and add id as final sort tie-breaker")
+        @SuppressWarnings("unchecked")
+        void shouldSearchWithStableSort() {
+            // Given
+            Pageable pageable = PageRequest.of(1, 5, Sort.by(Sort.Direction.ASC, "dueDate"));
+            TaskFilter filter = new TaskFilter(Status.PENDING, null, null, null, "spring");
+
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findAll(any(Specification.class), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(validTask)));
+
+            // When
+            ResponseEntity<Page<TaskDTO>> response = taskService.searchTasks(filter, pageable, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getContent()).extracting(TaskDTO::getTitle).containsExactly("Estudar Spring Boot");
+
+            ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+            verify(taskRepository).findAll(any(Specification.class), captor.capture());
+            assertThat(captor.getValue().getPageNumber()).isEqualTo(1);
+            assertThat(captor.getValue().getPageSize()).isEqualTo(5);
+            assertThat(captor.getValue().getSort())
+                    .containsExactly(Sort.Order.asc("dueDate"), Sort.Order.desc("id"));
+        }
+
+        @Test
+        @DisplayName("Should reject sort by unknown property")
+        void shouldRejectUnknownSortProperty() {
+            Pageable pageable = PageRequest.of(0, 5, Sort.by("user.password"));
+
+            assertThatThrownBy(() -> taskService.searchTasks(new TaskFilter(), pageable, principal))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessageContaining("user.password");
+
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject due date range where dueFrom is after dueTo")
+        void shouldRejectInvertedDueDateRange() {
+            LocalDateTime now = LocalDateTime.now();
+            TaskFilter filter = new TaskFilter(null, null, now.plusDays(2), now.plusDays(1), null);
+
+            assertThatThrownBy(() -> taskService.searchTasks(filter, PageRequest.of(0, 5), principal))
+                    .isInstanceOf(InvalidRequestException.class);
+
+            verifyNoInteractions(taskRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("searchTaskIds Tests")
+    class SearchTaskIdsTests {
+
+        @Test
+        @DisplayName("Should return ranked ids from the in-memory index")
+        void shouldReturnRankedIdsFromIndex() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskSearchIndex.search(1L, "spring", 10)).thenReturn(List.of(3L, 1L));
+
+            // When
+            ResponseEntity<List<Long>> response = taskService.searchTaskIds("spring", 10, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).containsExactly(3L, 1L);
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject blank query and out of range limit")
+        void shouldRejectInvalidParameters() {
+            assertThatThrownBy(() -> taskService.searchTaskIds(" ", 10, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            assertThatThrownBy(() -> taskService.searchTaskIds("spring", 0, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            assertThatThrownBy(() -> taskService.searchTaskIds("spring", TaskService.MAX_TEXT_SEARCH_RESULTS + 1, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+
+            verifyNoInteractions(taskSearchIndex);
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET Tests")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Should return ETag and revalidation headers on full response")
+        void shouldReturnETagOnFullResponse() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(taskDTO));
+
+            // When
+            ResponseEntity<byte[]> response = taskService.getAllTasksWithoutPagination("\"e-6\"", principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isEqualTo(CURRENT_ETAG);
+            assertThat(response.getHeaders().getCacheControl()).contains("no-cache").contains("private");
+        }
+
+        @Test
+        @DisplayName("Should return 304 for the task list without querying tasks when ETag matches")
+        void shouldReturnNotModifiedForList() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When
+            ResponseEntity<byte[]> response = taskService.getAllTasksWithoutPagination(CURRENT_ETAG, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+            assertThat(response.getHeaders().getETag()).isEqualTo(CURRENT_ETAG);
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should stream the task list with the same ETag")
+        void shouldStreamTaskListWithETag() {
+            // Given
+            StreamingResponseBody body = outputStream -> { };
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskStreamingWriter.jsonArray(1L)).thenReturn(body);
+
+            // When
+            ResponseEntity<StreamingResponseBody> response = taskService.streamAllTasks(null, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isSameAs(body);
+            assertThat(response.getHeaders().getETag()).isEqualTo(CURRENT_ETAG);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should not open the stream when ETag matches")
+        void shouldReturnNotModifiedForStreamedList() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When
+            ResponseEntity<StreamingResponseBody> response = taskService.streamAllTasks(CURRENT_ETAG, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            verifyNoInteractions(taskStreamingWriter);
+        }
+
+        @Test
+        @DisplayName("Should return 304 for the paged list when ETag matches")
+        void shouldReturnNotModifiedForPagedList() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When
+            ResponseEntity<Page<TaskDTO>> response =
+                    taskService.getAllTasks(PageRequest.of(0, 10), "\"other\", W/" + CURRENT_ETAG, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should return 304 for a single task when ETag matches")
+        void shouldReturnNotModifiedForSingleTask() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When
+            ResponseEntity<TaskDTO> response = taskService.getTaskById(1L, CURRENT_ETAG, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            verifyNoInteractions(taskRepository);
+            verify(taskMapper, never()).toDto(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getTaskStats Tests")
+    class GetTaskStatsTests {
+
+        @Test
+        @DisplayName("Should return counters for the authenticated user without querying tasks")
+        void shouldReturnStatsForUser() {
+            // Given
+            TaskStatsDTO stats = new TaskStatsDTO(3, Map.of(), Map.of(), 1, 1);
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskStatsTracker.getStats(1L)).thenReturn(stats);
+
+            // When
+            ResponseEntity<TaskStatsDTO> response = taskService.getTaskStats(principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isSameAs(stats);
+            verifyNoInteractions(taskRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("getChanges Tests")
+    class GetChangesTests {
+
+        private String cursorAt(LocalDateTime at) {
+            return new TaskService.ChangesCursor(at).encode();
+        }
+
+        @Test
+        @DisplayName("Should return the full list with reset when no cursor is sent")
+        void shouldReturnFullListWithoutCursor() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(taskDTO));
+
+            // When
+            ResponseEntity<TaskChangesDTO> response = taskService.getChanges(null, principal);
+
+            // Then
+            assertThat(response.getBody().isReset()).isTrue();
+            assertThat(response.getBody().getUpserted()).containsExactly(taskDTO);
+            assertThat(response.getBody().getDeleted()).isEmpty();
+            assertThat(TaskService.ChangesCursor.decode(response.getBody().getCursor()).at())
+                    .isEqualTo(NOW.minus(TaskService.CHANGES_COMMIT_LAG));
+            verifyNoInteractions(taskTombstoneRepository);
+        }
+
+        @Test
+        @DisplayName("Should return only changed and deleted tasks since the cursor")
+        void shouldReturnDeltaSinceCursor() {
+            // Given
+            LocalDateTime since = NOW.minusMinutes(10);
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findDtosChangedSince(1L, since)).thenReturn(List.of(taskDTO));
+            when(taskTombstoneRepository.findTaskIdsDeletedSince(1L, since)).thenReturn(List.of(7L));
+
+            // When
+            ResponseEntity<TaskChangesDTO> response = taskService.getChanges(cursorAt(since), principal);
+
+            // Then
+            assertThat(response.getBody().isReset()).isFalse();
+            assertThat(response.getBody().getUpserted()).containsExactly(taskDTO);
+            assertThat(response.getBody().getDeleted()).containsExactly(7L);
+            assertThat(TaskService.ChangesCursor.decode(response.getBody().getCursor()).at())
+                    .isEqualTo(NOW.minus(TaskService.CHANGES_COMMIT_LAG));
+            verify(taskRepository, never()).findDtosByUserId(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should not move the cursor backwards on repeated calls")
+        void shouldKeepRecentCursor() {
+            // Given
+            String recent = cursorAt(NOW.minusSeconds(1));
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When
+            ResponseEntity<TaskChangesDTO> response = taskService.getChanges(recent, principal);
+
+            // Then
+            assertThat(response.getBody().getCursor()).isEqualTo(recent);
+        }
+
+        @Test
+        @DisplayName("Should reset when the cursor is older than the tombstone retention")
+        void shouldResetWhenCursorIsTooOld() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(taskDTO));
+
+            // When
+            ResponseEntity<TaskChangesDTO> response = taskService.getChanges(
+                    cursorAt(NOW.minus(TaskService.TOMBSTONE_RETENTION).minusDays(1)), principal);
+
+            // Then
+            assertThat(response.getBody().isReset()).isTrue();
+            verify(taskRepository, never()).findDtosChangedSince(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject an invalid cursor")
+        void shouldRejectInvalidCursor() {
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            assertThatThrownBy(() -> taskService.getChanges("not-a-cursor", principal))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessage("Invalid cursor");
+        }
+
+        @Test
+        @DisplayName("Should purge tombstones older than the retention")
+        void shouldPurgeOldTombstones() {
+            taskService.purgeTombstones();
+
+            verify(taskTombstoneRepository).deleteOlderThan(NOW.minus(TaskService.TOMBSTONE_RETENTION));
+        }
+    }
+
+    @Nested
+    @DisplayName("streamTaskChanges Tests")
+    class StreamTaskChangesTests {
+
+        @Test
+        @DisplayName("Should subscribe the authenticated user and disable proxy buffering")
+        void shouldSubscribeAuthenticatedUser() {
+            // Given
+            SseEmitter emitter = new SseEmitter();
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskEventStream.subscribe(1L)).thenReturn(emitter);
+
+            // When
+            ResponseEntity<SseEmitter> response = taskService.streamTaskChanges(principal);
+
+            // Then
+            assertThat(response.getBody()).isSameAs(emitter);
+            assertThat(response.getHeaders().getFirst("X-Accel-Buffering")).isEqualTo("no");
+            verifyNoInteractions(taskRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("exportTasks Tests")
+    class ExportTasksTests {
+
+        @Test
+        @DisplayName("Should stream a gzip attachment for the authenticated user")
+        void shouldExportGzipAttachment() {
+            // Given
+            StreamingResponseBody body = outputStream -> { };
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskStreamingWriter.export(1L, TaskExportFormat.CSV, true)).thenReturn(body);
+
+            // When
+            ResponseEntity<StreamingResponseBody> response = taskService.exportTasks("CSV", true, principal);
+
+            // Then
+            assertThat(response.getBody()).isSameAs(body);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("application/gzip"));
+            assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("tasks.csv.gz");
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should use the format media type when not compressed")
+        void shouldExportNdjson() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            // When
+            ResponseEntity<StreamingResponseBody> response = taskService.exportTasks("ndjson", false, principal);
+
+            // Then
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+            assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("tasks.ndjson");
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown format")
+        void shouldRejectUnknownFormat() {
+            assertThatThrownBy(() -> taskService.exportTasks("xlsx", false, principal))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessageContaining("csv, ndjson");
+
+            verifyNoInteractions(taskStreamingWriter);
         }
     }
 
@@ -244,44 +820,75 @@ class TaskServiceTest {
 
         @Test
         @DisplayName("Should return all tasks for user without pagination")
-        void shouldReturnAllTasksForUserWithoutPagination() {
+        void shouldReturnAllTasksForUserWithoutPagination() throws IOException {
             // Given
-            List<Task> userTasks = List.of(validTask);
-
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(userTasks);
-            when(modelMapper.map(validTask, TaskDTO.class)).thenReturn(taskDTO);
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(taskDTO));
 
             // When
-            ResponseEntity<List<TaskDTO>> response = taskService.getAllTasksWithoutPagination(principal);
+            ResponseEntity<byte[]> response = taskService.getAllTasksWithoutPagination(null, principal);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(response.getBody()).isNotNull();
-            assertThat(response.getBody()).hasSize(1);
-            assertThat(response.getBody().get(0).getTitle()).isEqualTo("Estudar Spring Boot");
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(tasksOf(response)).hasSize(1);
+            assertThat(tasksOf(response).get(0).getTitle()).isEqualTo("Estudar Spring Boot");
 
             verify(userRepository).findByEmail("joao@email.com");
-            verify(taskRepository).findByUserIdOrderByCreatedAtDesc(1L);
-            verify(modelMapper).map(validTask, TaskDTO.class);
+            verify(taskRepository).findDtosByUserId(1L);
+            verify(taskRepository, never()).findByUserIdOrderByCreatedAtDesc(anyLong());
         }
 
         @Test
         @DisplayName("Should return empty list when user has no tasks")
-        void shouldReturnEmptyListWhenUserHasNoTasks() {
+        void shouldReturnEmptyListWhenUserHasNoTasks() throws IOException {
             // Given
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of());
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of());
 
             // When
-            ResponseEntity<List<TaskDTO>> response = taskService.getAllTasksWithoutPagination(principal);
+            ResponseEntity<byte[]> response = taskService.getAllTasksWithoutPagination(null, principal);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(response.getBody()).isNotNull();
-            assertThat(response.getBody()).isEmpty();
+            assertThat(tasksOf(response)).isEmpty();
+
+            verify(taskMapper, never()).toDto(any());
+        }
+
+        @Test
+        @DisplayName("Should serve repeated reads from the cached JSON without querying")
+        void shouldServeRepeatedReadsFromCache() {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(taskDTO));
 
-            verify(modelMapper, never()).map(any(), any());
+            // When
+            byte[] first = taskService.getAllTasksWithoutPagination(null, principal).getBody();
+            byte[] second = taskService.getAllTasksWithoutPagination(null, principal).getBody();
+
+            // Then - mesmos bytes, uma única query
+            assertThat(second).isSameAs(first);
+            verify(taskRepository, times(1)).findDtosByUserId(1L);
+        }
+
+        @Test
+        @DisplayName("Should reload the list when the ETag changes")
+        void shouldReloadWhenETagChanges() throws IOException {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            TaskDTO renamed = new TaskDTO(1L, "Renomeada", null, null, Priority.HIGH, Status.PENDING, 1L);
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(taskDTO), List.of(renamed));
+            taskService.getAllTasksWithoutPagination(null, principal);
+
+            // When - outra versão das tasks do usuário
+            when(taskVersionTracker.etag(1L)).thenReturn("\"e-8\"");
+            ResponseEntity<byte[]> response = taskService.getAllTasksWithoutPagination(null, principal);
+
+            // Then
+            assertThat(response.getHeaders().getETag()).isEqualTo("\"e-8\"");
+            assertThat(tasksOf(response)).extracting(TaskDTO::getTitle).containsExactly("Renomeada");
+            verify(taskRepository, times(2)).findDtosByUserId(1L);
         }
     }
 
@@ -307,7 +914,7 @@ class TaskServiceTest {
 
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
             when(taskRepository.save(newTask)).thenReturn(savedTask);
-            when(modelMapper.map(savedTask, TaskDTO.class)).thenReturn(taskDTO);
+            when(taskMapper.toDto(savedTask)).thenReturn(taskDTO);
 
             // When
             ResponseEntity<TaskDTO> response = taskService.createNewTask(newTask, uriBuilder, principal);
@@ -320,7 +927,8 @@ class TaskServiceTest {
 
             verify(userRepository).findByEmail("joao@email.com");
             verify(taskRepository).save(newTask);
-            verify(modelMapper).map(savedTask, TaskDTO.class);
+            verify(taskMapper).toDto(savedTask);
+            verify(eventPublisher).publishEvent(TaskChangedEvent.created(taskDTO.getUserId(), taskDTO));
         }
 
         @Test
@@ -341,49 +949,340 @@ class TaskServiceTest {
     }
 
     @Nested
-    @DisplayName("updateTask Tests")
-    class UpdateTaskTests {
+    @DisplayName("createTasks Tests")
+    class CreateTasksTests {
 
         @Test
-        @DisplayName("Should update task successfully when user is owner")
-        void shouldUpdateTaskSuccessfullyWhenUserIsOwner() {
+        @DisplayName("Should resolve the user once, insert the batch and publish one event per task")
+        void shouldCreateTasksInBatch() {
+            // Given
+            Task first = new Task();
+            first.setTitle("Primeira");
+            first.setPriority(Priority.LOW);
+            Task second = new Task();
+            second.setTitle("Segunda");
+            second.setPriority(Priority.HIGH);
+            List<Task> tasks = List.of(first, second);
+
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskBatchWriter.insertAll(tasks, validUser)).thenAnswer(invocation -> {
+                first.setId(10L);
+                first.setUser(validUser);
+                second.setId(11L);
+                second.setUser(validUser);
+                return List.of(10L, 11L);
+            });
+
+            // When
+            ResponseEntity<List<Long>> response = taskService.createTasks(tasks, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).containsExactly(10L, 11L);
+            verify(userRepository, times(1)).findByEmail("joao@email.com");
+            verify(eventPublisher).publishEvent(TaskChangedEvent.created(1L, taskMapper.toDto(first)));
+            verify(eventPublisher).publishEvent(TaskChangedEvent.created(1L, taskMapper.toDto(second)));
+            verify(taskRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should not publish events when the batch is rejected")
+        void shouldNotPublishWhenBatchRejected() {
+            // Given
+            List<Task> tasks = List.of(new Task());
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskBatchWriter.insertAll(tasks, validUser))
+                    .thenThrow(new InvalidRequestException("At most 500 tasks per batch"));
+
+            // When & Then
+            assertThatThrownBy(() -> taskService.createTasks(tasks, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("applyOperations Tests")
+    class ApplyOperationsTests {
+
+        private Task data(String title, Status status) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setPriority(Priority.MEDIUM);
+            task.setStatus(status);
+            return task;
+        }
+
+        private Task stored(Long id, String title) {
+            Task task = data(title, Status.PENDING);
+            task.setId(id);
+            task.setUser(validUser);
+            return task;
+        }
+
+        private void assignIdsOnSave(long firstId) {
+            long[] next = {firstId};
+            when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+                Task task = invocation.getArgument(0);
+                task.setId(next[0]++);
+                return task;
+            });
+        }
+
+        @Test
+        @DisplayName("Should apply mixed operations in order and map tempIds to real ids")
+        void shouldApplyMixedOperations() {
+            // Given
+            Task five = stored(5L, "Existente");
+            Task six = stored(6L, "Removida");
+            TaskSnapshot fiveBefore = TaskSnapshot.of(five);
+            List<TaskOperation> operations = List.of(
+                    new TaskOperation(TaskOperation.Type.CREATE, "t1", null, null, data("Offline", null)),
+                    new TaskOperation(TaskOperation.Type.UPDATE, null, null, "t1", data("Offline editada", Status.DONE)),
+                    new TaskOperation(TaskOperation.Type.UPDATE, null, 5L, null, data("Existente editada", Status.DONE)),
+                    new TaskOperation(TaskOperation.Type.DELETE, null, 6L, null, null));
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByUserIdAndIdIn(1L, List.of(5L, 6L))).thenReturn(List.of(five, six));
+            assignIdsOnSave(100L);
+
+            // When
+            List<TaskOperationResultDTO> results = taskService.applyOperations(operations, principal).getBody();
+
+            // Then
+            assertThat(results).extracting(TaskOperationResultDTO::getOp, TaskOperationResultDTO::getTempId,
+                            TaskOperationResultDTO::getId)
+                    .containsExactly(
+                            tuple(TaskOperation.Type.CREATE, "t1", 100L),
+                            tuple(TaskOperation.Type.UPDATE, "t1", 100L),
+                            tuple(TaskOperation.Type.UPDATE, null, 5L),
+                            tuple(TaskOperation.Type.DELETE, null, 6L));
+            assertThat(results.get(1).getTask().getTitle()).isEqualTo("Offline editada");
+            assertThat(five.getTitle()).isEqualTo("Existente editada");
+            assertThat(five.getStatus()).isEqualTo(Status.DONE);
+
+            verify(taskBatchWriter).validateOperations(operations);
+            verify(userRepository, times(1)).findByEmail("joao@email.com");
+            verify(taskRepository, times(1)).save(any(Task.class));
+            verify(taskRepository).delete(six);
+            verify(taskTombstoneRepository).save(new TaskTombstone(null, 6L, 1L, NOW));
+            verify(eventPublisher).publishEvent(TaskChangedEvent.updated(1L, fiveBefore, results.get(2).getTask()));
+            verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(1L, TaskSnapshot.of(six)));
+            verify(eventPublisher, times(4)).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should not record a tombstone for a task created and deleted in the same batch")
+        void shouldSkipTombstoneForTaskCreatedInBatch() {
+            List<TaskOperation> operations = List.of(
+                    new TaskOperation(TaskOperation.Type.CREATE, "t1", null, null, data("Temporária", null)),
+                    new TaskOperation(TaskOperation.Type.DELETE, null, null, "t1", null));
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            assignIdsOnSave(100L);
+
+            List<TaskOperationResultDTO> results = taskService.applyOperations(operations, principal).getBody();
+
+            assertThat(results).extracting(TaskOperationResultDTO::getId).containsExactly(100L, 100L);
+            verify(taskRepository).delete(any(Task.class));
+            verify(taskRepository, never()).findByUserIdAndIdIn(any(), any());
+            verifyNoInteractions(taskTombstoneRepository);
+        }
+
+        @Test
+        @DisplayName("Should apply the PUT/DELETE ownership rule to referenced ids")
+        void shouldRejectTasksOfAnotherUser() {
+            List<TaskOperation> operations = List.of(
+                    new TaskOperation(TaskOperation.Type.CREATE, "t1", null, null, data("Nova", null)),
+                    new TaskOperation(TaskOperation.Type.DELETE, null, 9L, null, null));
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByUserIdAndIdIn(1L, List.of(9L))).thenReturn(List.of());
+            when(taskRepository.existsById(9L)).thenReturn(true);
+
+            assertThatThrownBy(() -> taskService.applyOperations(operations, principal))
+                    .isInstanceOf(UnauthorizedAccessException.class);
+            verify(taskRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should reject an operation on a task deleted earlier in the batch")
+        void shouldRejectOperationAfterDelete() {
+            Task five = stored(5L, "Existente");
+            List<TaskOperation> operations = List.of(
+                    new TaskOperation(TaskOperation.Type.DELETE, null, 5L, null, null),
+                    new TaskOperation(TaskOperation.Type.UPDATE, null, 5L, null, data("Tarde demais", null)));
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByUserIdAndIdIn(1L, List.of(5L))).thenReturn(List.of(five));
+
+            assertThatThrownBy(() -> taskService.applyOperations(operations, principal))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessageContaining("operations[1]");
+        }
+    }
+
+    @Nested
+    @DisplayName("bulk operations Tests")
+    class BulkOperationsTests {
+
+        private TaskBulkRequest byIds(Long... ids) {
+            TaskBulkRequest request = new TaskBulkRequest();
+            request.setIds(List.of(ids));
+            return request;
+        }
+
+        @Test
+        @DisplayName("Should bulk update with a single statement and publish one bulk event")
+        void shouldBulkUpdateTasks() {
             // Given
-            Task updateData = new Task();
+            TaskBulkRequest request = byIds(1L, 2L, 3L);
+            request.setStatus(Status.DONE);
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.updateStatusAndPriority(any(), eq(Status.DONE), isNull(), eq(NOW))).thenReturn(3);
+
+            // When
+            ResponseEntity<TaskBulkResultDTO> response = taskService.bulkUpdateTasks(request, principal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getAffected()).isEqualTo(3);
+            verify(eventPublisher).publishEvent(TaskChangedEvent.bulk(1L));
+            verify(taskRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should not publish an event when nothing was updated")
+        void shouldNotPublishWhenNothingUpdated() {
+            TaskBulkRequest request = new TaskBulkRequest();
+            request.setFilter(new TaskFilter());
+            request.setPriority(Priority.LOW);
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.updateStatusAndPriority(any(), isNull(), eq(Priority.LOW), eq(NOW))).thenReturn(0);
+
+            assertThat(taskService.bulkUpdateTasks(request, principal).getBody().getAffected()).isZero();
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should reject bulk update without new values")
+        void shouldRejectBulkUpdateWithoutChanges() {
+            assertThatThrownBy(() -> taskService.bulkUpdateTasks(byIds(1L), principal))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessageContaining("status or priority");
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("Should require exactly one of ids or filter and cap the number of ids")
+        void shouldValidateSelection() {
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+
+            TaskBulkRequest neither = new TaskBulkRequest();
+            neither.setStatus(Status.DONE);
+            TaskBulkRequest both = byIds(1L);
+            both.setFilter(new TaskFilter());
+            both.setStatus(Status.DONE);
+            TaskBulkRequest tooMany = new TaskBulkRequest();
+            tooMany.setIds(LongStream.rangeClosed(1, TaskService.BULK_MAX_IDS + 1).boxed().toList());
+            tooMany.setStatus(Status.DONE);
+            TaskFilter invertedRange = new TaskFilter();
+            invertedRange.setDueFrom(NOW.plusDays(2));
+            invertedRange.setDueTo(NOW.plusDays(1));
+            TaskBulkRequest badFilter = new TaskBulkRequest();
+            badFilter.setFilter(invertedRange);
+
+            assertThatThrownBy(() -> taskService.bulkUpdateTasks(neither, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            assertThatThrownBy(() -> taskService.bulkUpdateTasks(both, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            assertThatThrownBy(() -> taskService.bulkUpdateTasks(tooMany, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            assertThatThrownBy(() -> taskService.bulkDeleteTasks(badFilter, principal))
+                    .isInstanceOf(InvalidRequestException.class);
+            verify(taskRepository, never()).updateStatusAndPriority(any(), any(), any(), any());
+            verify(taskRepository, never()).deleteWithTombstones(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should bulk delete a filter selection in a single set-based call")
+        void shouldBulkDeleteFilterSelectionSetBased() {
+            // Given - filtro que casa com mais tasks do que cabem num IN: nada de ids em memória
+            TaskBulkRequest request = new TaskBulkRequest();
+            request.setFilter(new TaskFilter());
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.deleteWithTombstones(any(), eq(NOW))).thenReturn(TaskService.BULK_MAX_IDS + 5);
+
+            // When
+            ResponseEntity<TaskBulkResultDTO> response = taskService.bulkDeleteTasks(request, principal);
+
+            // Then - os registros de remoção saem do próprio INSERT ... SELECT
+            assertThat(response.getBody().getAffected()).isEqualTo(TaskService.BULK_MAX_IDS + 5);
+            verify(taskRepository).deleteWithTombstones(any(), eq(NOW));
+            verifyNoInteractions(taskTombstoneRepository);
+            verify(eventPublisher).publishEvent(TaskChangedEvent.bulk(1L));
+        }
+
+        @Test
+        @DisplayName("Should not publish when nothing matches")
+        void shouldDoNothingWhenNoTaskMatches() {
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.deleteWithTombstones(any(), eq(NOW))).thenReturn(0);
+
+            assertThat(taskService.bulkDeleteTasks(byIds(42L), principal).getBody().getAffected()).isZero();
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("updateTask Tests")
+    class UpdateTaskTests {
+
+        private Task updateData;
+
+        @BeforeEach
+        void setUp() {
+            updateData = new Task();
             updateData.setTitle("Título Atualizado");
             updateData.setDescription("Descrição Atualizada");
             updateData.setStatus(Status.DONE);
             updateData.setPriority(Priority.LOW);
             updateData.setDueDate(LocalDateTime.now().plusDays(10));
+        }
 
+        @Test
+        @DisplayName("Should update the owned entity in place (dirty checking keeps the L2 entry in sync)")
+        void shouldUpdateTaskSuccessfullyWhenUserIsOwner() {
+            // Given
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(validTask));
-            when(modelMapper.map(validTask, TaskDTO.class)).thenReturn(taskDTO);
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(validTask));
+            when(taskMapper.toDto(validTask)).thenReturn(taskDTO);
+            TaskSnapshot previous = TaskSnapshot.of(validTask);
 
             // When
             ResponseEntity<TaskDTO> response = taskService.updateTask(updateData, 1L, principal);
 
-            // Then
+            // Then - campos copiados para a entidade gerenciada; o UPDATE sai no commit
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isNotNull();
-
-            // Verificar se os campos foram atualizados
+            assertThat(validTask.getId()).isEqualTo(1L);
             assertThat(validTask.getTitle()).isEqualTo("Título Atualizado");
             assertThat(validTask.getDescription()).isEqualTo("Descrição Atualizada");
-            assertThat(validTask.getStatus()).isEqualTo(Status.DONE);
+            assertThat(validTask.getDueDate()).isEqualTo(updateData.getDueDate());
             assertThat(validTask.getPriority()).isEqualTo(Priority.LOW);
+            assertThat(validTask.getStatus()).isEqualTo(Status.DONE);
 
             verify(userRepository).findByEmail("joao@email.com");
-            verify(taskRepository).findById(1L);
-            verify(modelMapper).map(validTask, TaskDTO.class);
+            verify(taskRepository, never()).existsById(any());
+            verify(taskRepository, never()).save(any(Task.class));
+            verify(taskMapper).toDto(validTask);
+            verify(eventPublisher).publishEvent(TaskChangedEvent.updated(1L, previous, taskDTO));
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when task not found")
         void shouldThrowExceptionWhenTaskNotFoundOnUpdate() {
             // Given
-            Task updateData = new Task();
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+            when(taskRepository.findByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(999L)).thenReturn(false);
 
             // When & Then
             assertThatThrownBy(() -> taskService.updateTask(updateData, 999L, principal))
@@ -392,27 +1291,77 @@ class TaskServiceTest {
                     .hasMessageContaining("id")
                     .hasMessageContaining("999");
 
-            verify(modelMapper, never()).map(any(), any());
+            verify(taskMapper, never()).toDto(any());
         }
 
         @Test
         @DisplayName("Should throw UnauthorizedAccessException when user is not owner")
         void shouldThrowExceptionWhenUserNotOwnerOnUpdate() {
             // Given
-            Task updateData = new Task();
-            Task taskFromAnotherUser = new Task();
-            taskFromAnotherUser.setId(1L);
-            taskFromAnotherUser.setUser(anotherUser);
-
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(taskFromAnotherUser));
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(1L)).thenReturn(true);
 
             // When & Then
             assertThatThrownBy(() -> taskService.updateTask(updateData, 1L, principal))
                     .isInstanceOf(UnauthorizedAccessException.class)
                     .hasMessageContaining("You don't have permission to access this task");
 
-            verify(modelMapper, never()).map(any(), any());
+            verify(taskMapper, never()).toDto(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("patchTask Tests")
+    class PatchTaskTests {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        @Test
+        @DisplayName("Should change only the patched field of an owned task and publish the update")
+        void shouldPatchOwnedTask() throws Exception {
+            // Given
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(validTask));
+            String title = validTask.getTitle();
+            TaskSnapshot previous = TaskSnapshot.of(validTask);
+
+            // When
+            ResponseEntity<TaskDTO> response = taskService.patchTask(1L,
+                    objectMapper.readTree("{\"status\":\"DONE\"}"), principal);
+
+            // Then - entidade gerenciada: o UPDATE sai no commit
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getStatus()).isEqualTo(Status.DONE);
+            assertThat(response.getBody().getTitle()).isEqualTo(title);
+            assertThat(validTask.getStatus()).isEqualTo(Status.DONE);
+            verify(taskRepository, never()).save(any(Task.class));
+            verify(eventPublisher).publishEvent(TaskChangedEvent.updated(1L, previous, response.getBody()));
+        }
+
+        @Test
+        @DisplayName("Should not publish an event when the patch changes nothing")
+        void shouldNotPublishForNoOpPatch() throws Exception {
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(validTask));
+
+            taskService.patchTask(1L, objectMapper.readTree(
+                    "{\"priority\":\"" + validTask.getPriority() + "\"}"), principal);
+
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should apply the ownership rule before patching")
+        void shouldRejectTaskOfAnotherUser() throws Exception {
+            when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
+            when(taskRepository.findByIdAndUserId(2L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(2L)).thenReturn(true);
+
+            assertThatThrownBy(() -> taskService.patchTask(2L,
+                    objectMapper.readTree("{\"status\":\"DONE\"}"), principal))
+                    .isInstanceOf(UnauthorizedAccessException.class);
+            verify(taskMergePatch, never()).apply(any(), any());
         }
     }
 
@@ -421,11 +1370,11 @@ class TaskServiceTest {
     class DeleteTaskTests {
 
         @Test
-        @DisplayName("Should delete task successfully when user is owner")
+        @DisplayName("Should delete the owned entity (only its L2 entry is evicted)")
         void shouldDeleteTaskSuccessfullyWhenUserIsOwner() {
             // Given
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(validTask));
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(validTask));
 
             // When
             ResponseEntity<Void> response = taskService.deleteTask(1L, principal);
@@ -435,8 +1384,10 @@ class TaskServiceTest {
             assertThat(response.getBody()).isNull();
 
             verify(userRepository).findByEmail("joao@email.com");
-            verify(taskRepository).findById(1L);
             verify(taskRepository).delete(validTask);
+            verify(taskRepository, never()).existsById(any());
+            verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(1L, TaskSnapshot.of(validTask)));
+            verify(taskTombstoneRepository).save(new TaskTombstone(null, 1L, 1L, NOW));
         }
 
         @Test
@@ -444,7 +1395,8 @@ class TaskServiceTest {
         void shouldThrowExceptionWhenTaskNotFoundOnDelete() {
             // Given
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+            when(taskRepository.findByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(999L)).thenReturn(false);
 
             // When & Then
             assertThatThrownBy(() -> taskService.deleteTask(999L, principal))
@@ -452,27 +1404,105 @@ class TaskServiceTest {
                     .hasMessageContaining("Task")
                     .hasMessageContaining("id")
                     .hasMessageContaining("999");
-
-            verify(taskRepository, never()).delete(any());
         }
 
         @Test
         @DisplayName("Should throw UnauthorizedAccessException when user is not owner")
         void shouldThrowExceptionWhenUserNotOwnerOnDelete() {
             // Given
-            Task taskFromAnotherUser = new Task();
-            taskFromAnotherUser.setId(1L);
-            taskFromAnotherUser.setUser(anotherUser);
-
             when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(validUser));
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(taskFromAnotherUser));
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(1L)).thenReturn(true);
 
             // When & Then
             assertThatThrownBy(() -> taskService.deleteTask(1L, principal))
                     .isInstanceOf(UnauthorizedAccessException.class)
                     .hasMessageContaining("You don't have permission to access this task");
 
-            verify(taskRepository, never()).delete(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+            verifyNoInteractions(taskTombstoneRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Authenticated principal Tests")
+    class AuthenticatedPrincipalTests {
+
+        private Principal authenticatedPrincipal;
+
+        @BeforeEach
+        void setUp() {
+            AuthenticatedUser authenticatedUser = new AuthenticatedUser(
+                    1L, "joao@email.com", "hash", AuthorityUtils.createAuthorityList("USER"));
+            authenticatedPrincipal = new UsernamePasswordAuthenticationToken(
+                    authenticatedUser, null, authenticatedUser.getAuthorities());
+        }
+
+        @Test
+        @DisplayName("Should use user id from principal without resolving email")
+        void shouldUseUserIdFromPrincipal() {
+            // Given
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(validTask));
+            when(taskMapper.toDto(validTask)).thenReturn(taskDTO);
+
+            // When
+            ResponseEntity<TaskDTO> response = taskService.getTaskById(1L, null, authenticatedPrincipal);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            verify(userRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        @DisplayName("Should list tasks by user id from principal")
+        void shouldListTasksByUserIdFromPrincipal() throws IOException {
+            // Given
+            when(taskRepository.findDtosByUserId(1L)).thenReturn(List.of(taskDTO));
+
+            // When
+            ResponseEntity<byte[]> response = taskService.getAllTasksWithoutPagination(null, authenticatedPrincipal);
+
+            // Then
+            assertThat(tasksOf(response)).hasSize(1);
+            verify(userRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        @DisplayName("Should reference task owner by id instead of loading it on create")
+        void shouldReferenceTaskOwnerByIdOnCreate() {
+            // Given
+            Task newTask = new Task();
+            newTask.setTitle("Nova Task");
+            newTask.setPriority(Priority.MEDIUM);
+
+            Task savedTask = new Task();
+            savedTask.setId(2L);
+            savedTask.setUser(validUser);
+
+            when(userRepository.getReferenceById(1L)).thenReturn(validUser);
+            when(taskRepository.save(newTask)).thenReturn(savedTask);
+
+            // When
+            ResponseEntity<TaskDTO> response = taskService.createNewTask(newTask, uriBuilder, authenticatedPrincipal);
+
+            // Then
+            assertThat(newTask.getUser()).isEqualTo(validUser);
+            assertThat(response.getBody().getUserId()).isEqualTo(1L);
+            verify(userRepository).getReferenceById(1L);
+            verify(userRepository, never()).findById(any());
+            verify(userRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        @DisplayName("Should reject access to task of another user")
+        void shouldRejectAccessToTaskOfAnotherUser() {
+            // Given
+            when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+            when(taskRepository.existsById(1L)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> taskService.getTaskById(1L, null, authenticatedPrincipal))
+                    .isInstanceOf(UnauthorizedAccessException.class);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,203 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskCount;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskStatsDTO;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskStatsTracker Tests")
+class TaskStatsTrackerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 14, 0);
+    private static final LocalDateTime TOMORROW = LocalDateTime.of(2025, 3, 11, 0, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private MutableClock clock;
+    private TaskStatsTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW.atZone(ZoneId.systemDefault()).toInstant());
+        tracker = new TaskStatsTracker(taskRepository, new SimpleMeterRegistry(), clock, 100, Duration.ofMinutes(30));
+
+        // Tasks do usuário 1: uma atrasada, uma vencendo hoje, uma concluída (não conta como atrasada)
+        // e uma com status nulo (pendente) vencendo daqui a 5 dias
+        lenient().when(taskRepository.countByStatusAndPriority(1L)).thenReturn(List.of(
+                new TaskCount(Status.PENDING, Priority.HIGH, 1L),
+                new TaskCount(Status.PENDING, Priority.MEDIUM, 1L),
+                new TaskCount(Status.DONE, Priority.LOW, 1L),
+                new TaskCount(null, Priority.LOW, 1L)));
+        lenient().when(taskRepository.countOpenDueBefore(1L, NOW)).thenReturn(1L);
+        lenient().when(taskRepository.findOpenDueDatesBetween(1L, NOW, TOMORROW)).thenReturn(List.of(NOW.plusHours(2)));
+    }
+
+    // Estado anterior das tasks acima, como o TaskService o envia em alterações e remoções
+    private static final TaskSnapshot OVERDUE = new TaskSnapshot(1L, Status.PENDING, Priority.HIGH, NOW.minusDays(1));
+    private static final TaskSnapshot DUE_TODAY = new TaskSnapshot(2L, Status.PENDING, Priority.MEDIUM, NOW.plusHours(2));
+
+    private TaskDTO task(Long id, Status status, Priority priority, LocalDateTime dueDate) {
+        return new TaskDTO(id, "Task " + id, null, dueDate, priority, status, 1L);
+    }
+
+    @Test
+    @DisplayName("Should build counters from one GROUP BY and the due-date queries on first read")
+    void shouldBuildCountersOnColdStart() {
+        TaskStatsDTO stats = tracker.getStats(1L);
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getByStatus()).containsEntry(Status.PENDING, 3L).containsEntry(Status.DONE, 1L);
+        assertThat(stats.getByPriority())
+                .containsEntry(Priority.HIGH, 1L)
+                .containsEntry(Priority.MEDIUM, 1L)
+                .containsEntry(Priority.LOW, 2L);
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getDueToday()).isEqualTo(1);
+
+        tracker.getStats(1L);
+        verify(taskRepository, times(1)).countByStatusAndPriority(1L);
+        verify(taskRepository, times(1)).countOpenDueBefore(1L, NOW);
+        verify(taskRepository, times(1)).findOpenDueDatesBetween(1L, NOW, TOMORROW);
+    }
+
+    @Test
+    @DisplayName("Should move tasks to overdue as time passes without querying again")
+    void shouldMoveTasksToOverdueAsTimePasses() {
+        tracker.getStats(1L);
+
+        clock.advance(Duration.ofHours(3));
+        TaskStatsDTO stats = tracker.getStats(1L);
+
+        assertThat(stats.getOverdue()).isEqualTo(2);
+        assertThat(stats.getDueToday()).isZero();
+        verify(taskRepository, times(1)).countByStatusAndPriority(1L);
+    }
+
+    @Test
+    @DisplayName("Should recount once when the day changes")
+    void shouldReloadOnNewDay() {
+        tracker.getStats(1L);
+
+        // Dia seguinte, 9h: a task que vencia às 16h de ontem já está entre as atrasadas no banco
+        clock.advance(Duration.ofHours(19));
+        LocalDateTime nextMorning = NOW.plusHours(19);
+        when(taskRepository.countOpenDueBefore(1L, nextMorning)).thenReturn(2L);
+        when(taskRepository.findOpenDueDatesBetween(1L, nextMorning, TOMORROW.plusDays(1))).thenReturn(List.of());
+
+        TaskStatsDTO stats = tracker.getStats(1L);
+        tracker.getStats(1L);
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getOverdue()).isEqualTo(2);
+        assertThat(stats.getDueToday()).isZero();
+        verify(taskRepository, times(2)).countByStatusAndPriority(1L);
+    }
+
+    @Test
+    @DisplayName("Should apply create, update and delete events using the previous state of the task")
+    void shouldApplyChangeEvents() {
+        tracker.getStats(1L);
+
+        // Nova task vencendo hoje
+        tracker.onTaskChanged(TaskChangedEvent.created(1L, task(5L, Status.PENDING, Priority.HIGH, NOW.plusHours(1))));
+        // Atrasada concluída
+        tracker.onTaskChanged(TaskChangedEvent.updated(1L, OVERDUE, task(1L, Status.DONE, Priority.HIGH, NOW.minusDays(1))));
+        // Removida a que vencia hoje
+        tracker.onTaskChanged(TaskChangedEvent.deleted(1L, DUE_TODAY));
+
+        TaskStatsDTO stats = tracker.getStats(1L);
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getByStatus()).containsEntry(Status.PENDING, 2L).containsEntry(Status.DONE, 2L);
+        assertThat(stats.getByPriority())
+                .containsEntry(Priority.HIGH, 2L)
+                .containsEntry(Priority.MEDIUM, 0L)
+                .containsEntry(Priority.LOW, 2L);
+        assertThat(stats.getOverdue()).isZero();
+        assertThat(stats.getDueToday()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep counters consistent when an overdue task is deleted after time passes")
+    void shouldRemoveTaskThatBecameOverdue() {
+        tracker.getStats(1L);
+        clock.advance(Duration.ofHours(3));
+        tracker.getStats(1L);
+
+        tracker.onTaskChanged(TaskChangedEvent.deleted(1L, DUE_TODAY));
+
+        assertThat(tracker.getStats(1L).getOverdue()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should recount from the database after a bulk change")
+    void shouldReloadAfterBulkEvent() {
+        tracker.getStats(1L);
+
+        tracker.onTaskChanged(TaskChangedEvent.bulk(1L));
+        when(taskRepository.countByStatusAndPriority(1L)).thenReturn(List.of(new TaskCount(Status.DONE, Priority.HIGH, 1L)));
+        when(taskRepository.countOpenDueBefore(1L, NOW)).thenReturn(0L);
+        when(taskRepository.findOpenDueDatesBetween(1L, NOW, TOMORROW)).thenReturn(List.of());
+
+        TaskStatsDTO stats = tracker.getStats(1L);
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getOverdue()).isZero();
+        verify(taskRepository, times(2)).countByStatusAndPriority(1L);
+    }
+
+    @Test
+    @DisplayName("Should ignore events for users not loaded yet")
+    void shouldIgnoreEventsForUnloadedUsers() {
+        tracker.onTaskChanged(TaskChangedEvent.deleted(2L, new TaskSnapshot(9L, Status.PENDING, Priority.LOW, null)));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    // Clock que o teste consegue avançar
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
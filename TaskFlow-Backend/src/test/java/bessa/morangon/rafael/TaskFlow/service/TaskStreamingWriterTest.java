@@ -0,0 +1,192 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskDTO;
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskExportFormat;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.TaskMapper;
+import bessa.morangon.rafael.TaskFlow.domain.model.Task;
+import bessa.morangon.rafael.TaskFlow.domain.model.User;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import bessa.morangon.rafael.TaskFlow.domain.repository.TaskRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskStreamingWriter Tests")
+class TaskStreamingWriterTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ObjectMapper objectMapper;
+    private TaskStreamingWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new TaskStreamingWriter(taskRepository, new TaskMapper(), objectMapper,
+                TransactionOperations.withoutTransaction());
+    }
+
+    private TaskDTO task(Long id) {
+        return new TaskDTO(id, "Task " + id, "Description", LocalDateTime.of(2030, 1, 1, 10, 0),
+                Priority.HIGH, Status.PENDING, 1L);
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON array as the in-memory list and close the cursor")
+    void shouldWriteJsonArrayAndCloseStream() throws Exception {
+        // Given
+        List<TaskDTO> tasks = List.of(task(3L), task(2L), task(1L));
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskRepository.streamDtosByUserId(1L)).thenReturn(tasks.stream().onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.jsonArray(1L).writeTo(out);
+
+        // Then
+        assertThat(out.toString()).isEqualTo(objectMapper.writeValueAsString(tasks));
+        assertThat(objectMapper.readValue(out.toByteArray(), new TypeReference<List<TaskDTO>>() { }))
+                .isEqualTo(tasks);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should write an empty array when the user has no tasks")
+    void shouldWriteEmptyArray() throws Exception {
+        when(taskRepository.streamDtosByUserId(1L)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.jsonArray(1L).writeTo(out);
+
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    private Task entity(Long id, String title, String description) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setPriority(Priority.MEDIUM);
+        task.setStatus(Status.PENDING);
+        task.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id));
+        User user = new User();
+        user.setId(1L);
+        task.setUser(user);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Should export CSV with header and RFC 4180 escaping")
+    void shouldExportCsv() throws Exception {
+        // Given
+        when(taskRepository.findFirstKeysetPage(1L, Limit.of(TaskStreamingWriter.EXPORT_CHUNK_SIZE)))
+                .thenReturn(List.of(entity(2L, "Comprar pão, leite", "Diz \"urgente\"\nhoje"), entity(1L, "=SUM(A1)", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.export(1L, TaskExportFormat.CSV, false).writeTo(out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                TaskStreamingWriter.CSV_HEADER + "\n"
+                        + "2,\"Comprar pão, leite\",\"Diz \"\"urgente\"\"\nhoje\",,MEDIUM,PENDING,2025-01-01T00:02,\n"
+                        + "1,'=SUM(A1),,,MEDIUM,PENDING,2025-01-01T00:01,\n");
+        verify(taskRepository, never()).findKeysetPageAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should read the export in keyset chunks until a short chunk")
+    void shouldExportInKeysetChunks() throws Exception {
+        // Given - um bloco cheio e um bloco final com uma task
+        Limit limit = Limit.of(TaskStreamingWriter.EXPORT_CHUNK_SIZE);
+        List<Task> firstChunk = LongStream.rangeClosed(2, TaskStreamingWriter.EXPORT_CHUNK_SIZE + 1)
+                .map(i -> TaskStreamingWriter.EXPORT_CHUNK_SIZE + 3 - i)
+                .mapToObj(id -> entity(id, "Task " + id, null))
+                .toList();
+        Task last = firstChunk.get(firstChunk.size() - 1);
+        when(taskRepository.findFirstKeysetPage(1L, limit)).thenReturn(firstChunk);
+        when(taskRepository.findKeysetPageAfter(1L, last.getCreatedAt(), last.getId(), limit))
+                .thenReturn(List.of(entity(1L, "Task 1", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.export(1L, TaskExportFormat.NDJSON, false).writeTo(out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(TaskStreamingWriter.EXPORT_CHUNK_SIZE + 1);
+        assertThat(objectMapper.readValue(lines.get(lines.size() - 1), TaskDTO.class).getId()).isEqualTo(1L);
+        verify(taskRepository, times(1)).findKeysetPageAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should gzip the export on the fly")
+    void shouldExportGzip() throws Exception {
+        // Given
+        when(taskRepository.findFirstKeysetPage(1L, Limit.of(TaskStreamingWriter.EXPORT_CHUNK_SIZE)))
+                .thenReturn(List.of(entity(1L, "Task 1", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.export(1L, TaskExportFormat.NDJSON, true).writeTo(out);
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            TaskDTO dto = objectMapper.readValue(new String(in.readAllBytes(), StandardCharsets.UTF_8).trim(), TaskDTO.class);
+            assertThat(dto.getTitle()).isEqualTo("Task 1");
+            assertThat(dto.getUserId()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should close the cursor when the client disconnects mid-stream")
+    void shouldCloseStreamWhenClientDisconnects() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskRepository.streamDtosByUserId(1L))
+                .thenReturn(Stream.generate(() -> task(1L)).limit(10_000).onClose(() -> closed.set(true)));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> writer.jsonArray(1L).writeTo(disconnected))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(closed).isTrue();
+    }
+}
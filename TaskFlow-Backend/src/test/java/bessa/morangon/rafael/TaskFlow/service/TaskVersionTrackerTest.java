@@ -0,0 +1,67 @@
+package bessa.morangon.rafael.TaskFlow.service;
+
+import bessa.morangon.rafael.TaskFlow.domain.dto.TaskSnapshot;
+import bessa.morangon.rafael.TaskFlow.domain.event.TaskChangedEvent;
+import bessa.morangon.rafael.TaskFlow.domain.model.Priority;
+import bessa.morangon.rafael.TaskFlow.domain.model.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TaskVersionTracker Tests")
+class TaskVersionTrackerTest {
+
+    private TaskVersionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TaskVersionTracker(new SimpleMeterRegistry(), 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Should return the same strong ETag while nothing changes")
+    void shouldReturnStableETag() {
+        String etag = tracker.etag(1L);
+
+        assertThat(etag).startsWith("\"").endsWith("\"").doesNotStartWith("W/");
+        assertThat(tracker.etag(1L)).isEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should change the ETag only for the user whose tasks changed")
+    void shouldBumpVersionOnChange() {
+        String user1 = tracker.etag(1L);
+        String user2 = tracker.etag(2L);
+
+        tracker.onTaskChanged(TaskChangedEvent.deleted(1L, new TaskSnapshot(10L, Status.PENDING, Priority.LOW, null)));
+
+        assertThat(tracker.etag(1L)).isNotEqualTo(user1);
+        assertThat(tracker.etag(2L)).isEqualTo(user2);
+    }
+
+    @Test
+    @DisplayName("Should never reuse an ETag for a user that left the cache")
+    void shouldNotReuseETagAfterEviction() {
+        TaskVersionTracker small = new TaskVersionTracker(new SimpleMeterRegistry(), 100, Duration.ZERO);
+        String before = small.etag(1L);
+
+        assertThat(small.etag(1L)).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, wildcard and weak prefix")
+    void shouldMatchIfNoneMatch() {
+        String etag = "\"abc-3\"";
+
+        assertThat(TaskVersionTracker.matches(etag, etag)).isTrue();
+        assertThat(TaskVersionTracker.matches("\"abc-2\", W/\"abc-3\"", etag)).isTrue();
+        assertThat(TaskVersionTracker.matches("*", etag)).isTrue();
+        assertThat(TaskVersionTracker.matches("\"abc-2\"", etag)).isFalse();
+        assertThat(TaskVersionTracker.matches(null, etag)).isFalse();
+    }
+}
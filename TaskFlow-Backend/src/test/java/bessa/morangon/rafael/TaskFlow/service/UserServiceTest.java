@@ -2,7 +2,9 @@ package bessa.morangon.rafael.TaskFlow.service;
 
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.ResourceNotFoundException;
 import bessa.morangon.rafael.TaskFlow.domain.configuration.exceptions.UserAlreadyExistsException;
+import bessa.morangon.rafael.TaskFlow.domain.configuration.security.UserDetailsCache;
 import bessa.morangon.rafael.TaskFlow.domain.dto.UserDTO;
+import bessa.morangon.rafael.TaskFlow.domain.mapper.UserMapper;
 import bessa.morangon.rafael.TaskFlow.domain.model.User;
 import bessa.morangon.rafael.TaskFlow.domain.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +14,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -42,12 +44,18 @@ UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private UserMapper userMapper = new UserMapper();
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private CacheInvalidationLog cacheInvalidationLog;
+
     @InjectMocks
     private UserService userService;
 
@@ -84,7 +92,7 @@ UserServiceTest {
         void shouldReturnUserWhenIdExists() {
             // Given
             when(userRepository.findById(1L)).thenReturn(Optional.of(validUser));
-            when(modelMapper.map(validUser, UserDTO.class)).thenReturn(userDTO);
+            when(userMapper.toDto(validUser)).thenReturn(userDTO);
 
             // When
             ResponseEntity<UserDTO> response = userService.getById(1L);
@@ -96,7 +104,7 @@ UserServiceTest {
             assertThat(response.getBody().getEmail()).isEqualTo("joao@email.com");
 
             verify(userRepository).findById(1L);
-            verify(modelMapper).map(validUser, UserDTO.class);
+            verify(userMapper).toDto(validUser);
         }
 
         @Test
@@ -113,7 +121,7 @@ UserServiceTest {
                     .hasMessageContaining("999");
 
             verify(userRepository).findById(999L);
-            verify(modelMapper, never()).map(any(), any());
+            verify(userMapper, never()).toDto(any());
         }
     }
 
@@ -130,7 +138,7 @@ UserServiceTest {
             Page<User> userPage = new PageImpl<>(users, pageable, 1);
 
             when(userRepository.findAll(pageable)).thenReturn(userPage);
-            when(modelMapper.map(validUser, UserDTO.class)).thenReturn(userDTO);
+            when(userMapper.toDto(validUser)).thenReturn(userDTO);
 
             // When
             ResponseEntity<Page<UserDTO>> response = userService.getAllUsers(pageable);
@@ -142,7 +150,7 @@ UserServiceTest {
             assertThat(response.getBody().getTotalElements()).isEqualTo(1);
 
             verify(userRepository).findAll(pageable);
-            verify(modelMapper).map(validUser, UserDTO.class);
+            verify(userMapper).toDto(validUser);
         }
 
         @Test
@@ -164,7 +172,7 @@ UserServiceTest {
             assertThat(response.getBody().getTotalElements()).isEqualTo(0);
 
             verify(userRepository).findAll(pageable);
-            verify(modelMapper, never()).map(any(), any());
+            verify(userMapper, never()).toDto(any());
         }
     }
 
@@ -192,7 +200,7 @@ UserServiceTest {
             when(userRepository.findByEmail("maria@email.com")).thenReturn(Optional.empty());
             when(passwordEncoder.encode("MinhaSenh@456")).thenReturn("encodedPassword");
             when(userRepository.save(newUser)).thenReturn(savedUser);
-            when(modelMapper.map(savedUser, UserDTO.class)).thenReturn(userDTO);
+            when(userMapper.toDto(savedUser)).thenReturn(userDTO);
 
             // When
             ResponseEntity<UserDTO> response = userService.createNewUser(newUser, uriBuilder);
@@ -205,7 +213,7 @@ UserServiceTest {
             verify(userRepository).findByEmail("maria@email.com");
             verify(passwordEncoder).encode("MinhaSenh@456");
             verify(userRepository).save(newUser);
-            verify(modelMapper).map(savedUser, UserDTO.class);
+            verify(userMapper).toDto(savedUser);
         }
 
         @Test
@@ -264,7 +272,7 @@ UserServiceTest {
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(validUser));
             when(passwordEncoder.encode("NovaSenh@123")).thenReturn("newEncodedPassword");
-            when(modelMapper.map(validUser, UserDTO.class)).thenReturn(userDTO);
+            when(userMapper.toDto(validUser)).thenReturn(userDTO);
 
             // When
             ResponseEntity<UserDTO> response = userService.updateUser(updateData, 1L);
@@ -280,7 +288,7 @@ UserServiceTest {
 
             verify(userRepository).findById(1L);
             verify(passwordEncoder).encode("NovaSenh@123");
-            verify(modelMapper).map(validUser, UserDTO.class);
+            verify(userMapper).toDto(validUser);
         }
 
         @Test
@@ -294,7 +302,7 @@ UserServiceTest {
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(validUser));
             when(userRepository.findByEmail("joao.novo@email.com")).thenReturn(Optional.empty());
-            when(modelMapper.map(validUser, UserDTO.class)).thenReturn(userDTO);
+            when(userMapper.toDto(validUser)).thenReturn(userDTO);
 
             // When
             ResponseEntity<UserDTO> response = userService.updateUser(updateData, 1L);
@@ -304,6 +312,10 @@ UserServiceTest {
             assertThat(validUser.getEmail()).isEqualTo("joao.novo@email.com");
 
             verify(userRepository).findByEmail("joao.novo@email.com");
+            verify(userDetailsCache).invalidate("joao@email.com");
+            verify(userDetailsCache).invalidate("joao.novo@email.com");
+            verify(cacheInvalidationLog).userChanged(1L, "joao@email.com");
+            verify(cacheInvalidationLog).userChanged(1L, "joao.novo@email.com");
         }
 
         @Test
@@ -360,6 +372,8 @@ UserServiceTest {
 
             verify(userRepository).findById(1L);
             verify(userRepository).delete(validUser);
+            verify(userDetailsCache).invalidate("joao@email.com");
+            verify(cacheInvalidationLog).userChanged(1L, "joao@email.com");
         }
 
         @Test
@@ -374,6 +388,8 @@ UserServiceTest {
 
             verify(userRepository).findById(999L);
             verify(userRepository, never()).delete(any());
+            verify(userDetailsCache, never()).invalidate(any());
+            verify(cacheInvalidationLog, never()).userChanged(any(), any());
         }
     }
 